@@ -0,0 +1,41 @@
+package edu.chylaozgaoldakowski.location_manager.benchmark;
+
+import edu.chylaozgaoldakowski.location_manager.entry.Entry;
+import edu.chylaozgaoldakowski.location_manager.entry.EntryMapper;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+public class EntryMapperBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int entryCount;
+
+    private EntryMapper entryMapper;
+    private SyntheticShop data;
+
+    @Setup
+    public void setUp() {
+        entryMapper = new EntryMapper(new ShopMapper());
+        data = SyntheticShop.withEntries(entryCount);
+    }
+
+    @Benchmark
+    public void toDto(Blackhole blackhole) {
+        for (Entry entry : data.entries) {
+            blackhole.consume(entryMapper.toDto(entry));
+        }
+    }
+
+    @Benchmark
+    public void toProductLocalizationDto(Blackhole blackhole) {
+        for (Entry entry : data.entries) {
+            blackhole.consume(entryMapper.toProductLocalizationDto(entry));
+        }
+    }
+}
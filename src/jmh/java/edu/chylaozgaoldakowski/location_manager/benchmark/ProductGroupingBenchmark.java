@@ -0,0 +1,55 @@
+package edu.chylaozgaoldakowski.location_manager.benchmark;
+
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import edu.chylaozgaoldakowski.location_manager.product.ProductCatalog;
+import edu.chylaozgaoldakowski.location_manager.product.ProductDto;
+import edu.chylaozgaoldakowski.location_manager.product.ProductMapper;
+import edu.chylaozgaoldakowski.location_manager.product.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+public class ProductGroupingBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int entryCount;
+
+    private List<ProductDto> products;
+    private ProductCatalog productCatalog;
+
+    @Setup
+    public void setUp() {
+        SyntheticShop data = SyntheticShop.withEntries(entryCount);
+        ProductMapper productMapper = new ProductMapper();
+        products = data.products.stream().map(productMapper::toProductDetailsDto).toList();
+
+        ProductRepository repository = (ProductRepository) Proxy.newProxyInstance(
+                ProductRepository.class.getClassLoader(), new Class<?>[]{ProductRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                        return data.products;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        productCatalog = new ProductCatalog(repository, productMapper);
+        productCatalog.getByCategory();
+    }
+
+    @Benchmark
+    public Map<Category, List<ProductDto>> groupingByPerRequest() {
+        return products.stream().collect(Collectors.groupingBy(ProductDto::getCategory));
+    }
+
+    @Benchmark
+    public Map<Category, List<ProductDto>> catalogCategoryIndex() {
+        return productCatalog.getByCategory();
+    }
+}
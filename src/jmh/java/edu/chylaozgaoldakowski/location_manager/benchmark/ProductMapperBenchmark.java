@@ -0,0 +1,33 @@
+package edu.chylaozgaoldakowski.location_manager.benchmark;
+
+import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.product.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+public class ProductMapperBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int entryCount;
+
+    private ProductMapper productMapper;
+    private SyntheticShop data;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapper();
+        data = SyntheticShop.withEntries(entryCount);
+    }
+
+    @Benchmark
+    public void toProductDetailsDto(Blackhole blackhole) {
+        for (Product product : data.products) {
+            blackhole.consume(productMapper.toProductDetailsDto(product));
+        }
+    }
+}
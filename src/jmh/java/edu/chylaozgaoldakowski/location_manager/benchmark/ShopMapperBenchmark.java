@@ -0,0 +1,30 @@
+package edu.chylaozgaoldakowski.location_manager.benchmark;
+
+import edu.chylaozgaoldakowski.location_manager.shop.ShopData;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class ShopMapperBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int entryCount;
+
+    private ShopMapper shopMapper;
+    private SyntheticShop data;
+
+    @Setup
+    public void setUp() {
+        shopMapper = new ShopMapper();
+        data = SyntheticShop.withEntries(entryCount);
+    }
+
+    @Benchmark
+    public ShopData toShopData() {
+        return shopMapper.toShopData(data.shop, data.entries);
+    }
+}
@@ -0,0 +1,45 @@
+package edu.chylaozgaoldakowski.location_manager.benchmark;
+
+import edu.chylaozgaoldakowski.location_manager.entry.Entry;
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class SyntheticShop {
+    private static final Category[] CATEGORIES = Category.values();
+
+    final Shop shop;
+    final List<Product> products;
+    final List<Entry> entries;
+
+    private SyntheticShop(Shop shop, List<Product> products, List<Entry> entries) {
+        this.shop = shop;
+        this.products = products;
+        this.entries = entries;
+    }
+
+    static SyntheticShop withEntries(int entryCount) {
+        SplittableRandom random = new SplittableRandom(entryCount);
+        Shop shop = new Shop(1L, "Benchmark Shop", "1 Benchmark St", "Warsaw", new ArrayList<>());
+        List<Product> products = new ArrayList<>(entryCount);
+        List<Entry> entries = new ArrayList<>(entryCount);
+
+        for (int i = 0; i < entryCount; i++) {
+            BigDecimal price = BigDecimal.valueOf(random.nextInt(1, 100_000), 2);
+            Product product = new Product((long) i + 1, "Product " + i, "Manufacturer " + (i % 50),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], "CODE-" + i,
+                    i % 10 == 0 ? null : "Description of product " + i, price, new ArrayList<>());
+            int amount = random.nextInt(1, 500);
+            Entry entry = new Entry((long) i + 1, shop, product, amount, price.multiply(BigDecimal.valueOf(amount)));
+            products.add(product);
+            entries.add(entry);
+        }
+        shop.setEntries(entries);
+        return new SyntheticShop(shop, products, entries);
+    }
+}
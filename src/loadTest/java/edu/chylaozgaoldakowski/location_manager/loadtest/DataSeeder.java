@@ -0,0 +1,108 @@
+package edu.chylaozgaoldakowski.location_manager.loadtest;
+
+import edu.chylaozgaoldakowski.location_manager.entry.EntryBatchRepository;
+import edu.chylaozgaoldakowski.location_manager.entry.EntryImportRow;
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.product.ProductRepository;
+import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopInventory;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopRepository;
+import edu.chylaozgaoldakowski.location_manager.user.AppUser;
+import edu.chylaozgaoldakowski.location_manager.user.UserRepository;
+import edu.chylaozgaoldakowski.location_manager.user.UsernameBloomFilter;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+class DataSeeder {
+    static final String PASSWORD = "loadtest";
+
+    private final ShopRepository shopRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final EntryBatchRepository entryBatchRepository;
+    private final ShopInventory shopInventory;
+    private final UsernameBloomFilter usernameBloomFilter;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random = new Random(42);
+
+    DataSeeder(ApplicationContext context) {
+        this.shopRepository = context.getBean(ShopRepository.class);
+        this.productRepository = context.getBean(ProductRepository.class);
+        this.userRepository = context.getBean(UserRepository.class);
+        this.entryBatchRepository = context.getBean(EntryBatchRepository.class);
+        this.shopInventory = context.getBean(ShopInventory.class);
+        this.usernameBloomFilter = context.getBean(UsernameBloomFilter.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    SeededData seed(LoadTestConfig config) {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+
+        List<Shop> shops = new ArrayList<>(config.shops());
+        for (int i = 0; i < config.shops(); i++) {
+            shops.add(new Shop(null, "Load Shop " + i, i + " Load St", "City " + (i % 20), new ArrayList<>()));
+        }
+        List<Long> shopIds = shopRepository.saveAll(shops).stream().map(Shop::getId).toList();
+
+        Category[] categories = Category.values();
+        List<Product> products = new ArrayList<>(config.products());
+        for (int i = 0; i < config.products(); i++) {
+            products.add(new Product(null, "Load Product " + i, "Manufacturer " + (i % 50),
+                    categories[i % categories.length], "LT-" + runId + "-" + i, "Seeded by the load-test harness",
+                    BigDecimal.valueOf(100 + random.nextInt(9900), 2), new ArrayList<>()));
+        }
+        List<Product> savedProducts = productRepository.saveAll(products);
+        List<Long> productIds = savedProducts.stream().map(Product::getId).toList();
+
+        for (Long shopId : shopIds) {
+            List<EntryImportRow> rows = new ArrayList<>(config.entriesPerShop());
+            Map<Category, List<EntryImportRow>> rowsByCategory = new HashMap<>();
+            int[] productIndexes = random.ints(0, savedProducts.size()).distinct()
+                    .limit(Math.min(config.entriesPerShop(), savedProducts.size())).toArray();
+            for (int productIndex : productIndexes) {
+                Product product = savedProducts.get(productIndex);
+                int amount = 1 + random.nextInt(100);
+                EntryImportRow row = new EntryImportRow(product.getId(), amount, product.getPrice().multiply(BigDecimal.valueOf(amount)));
+                rows.add(row);
+                rowsByCategory.computeIfAbsent(product.getCategory(), category -> new ArrayList<>()).add(row);
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                entryBatchRepository.upsertAll(shopId, rows);
+                rowsByCategory.forEach((category, categoryRows) -> shopInventory.record(shopId, category, categoryRows.size(),
+                        categoryRows.stream().mapToLong(EntryImportRow::getAmount).sum(),
+                        categoryRows.stream().map(EntryImportRow::getTotalPrice).reduce(BigDecimal.ZERO, BigDecimal::add)));
+            });
+        }
+
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<AppUser> users = new ArrayList<>();
+        for (int i = 0; i < Math.min(config.maxConcurrency(), shops.size()); i++) {
+            users.add(new AppUser(null, "loadtest-" + runId + "-" + i, encodedPassword, shops.get(i), "USER"));
+        }
+        List<SeededUser> seededUsers = userRepository.saveAll(users).stream()
+                .peek(user -> usernameBloomFilter.put(user.getUsername()))
+                .map(user -> new SeededUser(user.getUsername(), user.getAssignedShop().getId()))
+                .toList();
+
+        return new SeededData(shopIds, productIds, seededUsers);
+    }
+
+    record SeededUser(String username, Long shopId) {
+    }
+
+    record SeededData(List<Long> shopIds, List<Long> productIds, List<SeededUser> users) {
+    }
+}
@@ -0,0 +1,43 @@
+package edu.chylaozgaoldakowski.location_manager.loadtest;
+
+import java.util.Arrays;
+
+enum Endpoint {
+    SHOP_DETAILS("GET /shops/{id}", 40),
+    PRODUCT_DETAILS("GET /products/{id}", 30),
+    ENTRY_CREATE("POST /entries", 20),
+    SHOP_DATA_DOWNLOAD("GET /shops/{id}/shop-data-download", 10);
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(Endpoint::getWeight).sum();
+
+    private final String label;
+    private final int weight;
+
+    Endpoint(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    int getWeight() {
+        return weight;
+    }
+
+    static Endpoint pick(int roll) {
+        int remaining = Math.floorMod(roll, TOTAL_WEIGHT);
+        for (Endpoint endpoint : values()) {
+            remaining -= endpoint.weight;
+            if (remaining < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Unreachable roll: " + roll);
+    }
+
+    static int totalWeight() {
+        return TOTAL_WEIGHT;
+    }
+}
@@ -0,0 +1,44 @@
+package edu.chylaozgaoldakowski.location_manager.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+record LoadTestConfig(int shops,
+                      int products,
+                      int entriesPerShop,
+                      int warmupRequests,
+                      int requests,
+                      List<Integer> concurrencyLevels,
+                      boolean virtualThreads,
+                      String jdbcUrl,
+                      String username,
+                      String password,
+                      Path reportDir) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadTest.shops", 50),
+                Integer.getInteger("loadTest.products", 500),
+                Integer.getInteger("loadTest.entriesPerShop", 200),
+                Integer.getInteger("loadTest.warmupRequests", 500),
+                Integer.getInteger("loadTest.requests", 5000),
+                Arrays.stream(System.getProperty("loadTest.concurrency", "16").split(","))
+                        .map(String::trim)
+                        .map(Integer::valueOf)
+                        .toList(),
+                Boolean.getBoolean("loadTest.virtualThreads"),
+                System.getProperty("loadTest.jdbcUrl"),
+                System.getProperty("loadTest.username"),
+                System.getProperty("loadTest.password"),
+                Path.of(System.getProperty("loadTest.reportDir", "build/reports/loadTest")));
+    }
+
+    int maxConcurrency() {
+        return concurrencyLevels.stream().mapToInt(Integer::intValue).max().orElse(1);
+    }
+
+    boolean usesExternalDatabase() {
+        return jdbcUrl != null && !jdbcUrl.isBlank();
+    }
+}
@@ -0,0 +1,191 @@
+package edu.chylaozgaoldakowski.location_manager.loadtest;
+
+import edu.chylaozgaoldakowski.location_manager.ShopLocationManagerApplication;
+import edu.chylaozgaoldakowski.location_manager.loadtest.DataSeeder.SeededData;
+import edu.chylaozgaoldakowski.location_manager.loadtest.DataSeeder.SeededUser;
+import edu.chylaozgaoldakowski.location_manager.monitoring.EndpointSqlStatistics;
+import edu.chylaozgaoldakowski.location_manager.monitoring.SqlStatisticsRecorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class LoadTestHarness {
+    private static final String POSTGRES_IMAGE = "postgres:16-alpine";
+
+    private final LoadTestConfig config;
+    private final SeededData data;
+    private final List<LoadClient> clients;
+    private final SqlStatisticsRecorder sqlStatistics;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private int workers;
+
+    private LoadTestHarness(LoadTestConfig config, SeededData data, List<LoadClient> clients, SqlStatisticsRecorder sqlStatistics) {
+        this.config = config;
+        this.data = data;
+        this.clients = clients;
+        this.sqlStatistics = sqlStatistics;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        if (config.usesExternalDatabase()) {
+            run(config, config.jdbcUrl(), config.username(), config.password());
+            return;
+        }
+        // The entry upsert and delete statements are PostgreSQL-only, so without loadTest.jdbcUrl a throwaway one is started.
+        if (!DockerClientFactory.instance().isDockerAvailable()) {
+            throw new IllegalStateException("The load test starts a PostgreSQL container unless -PloadTest.jdbcUrl is set, "
+                    + "but no Docker daemon is reachable. Start Docker, or point it at an existing database with "
+                    + "-PloadTest.jdbcUrl, -PloadTest.username and -PloadTest.password.");
+        }
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(POSTGRES_IMAGE)) {
+            postgres.start();
+            run(config, postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        }
+    }
+
+    private static void run(LoadTestConfig config, String jdbcUrl, String username, String password) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShopLocationManagerApplication.class)
+                .profiles(config.virtualThreads() ? new String[]{"loadtest", "virtual-threads"} : new String[]{"loadtest"})
+                .run(applicationArguments(jdbcUrl, username, password))) {
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+
+            long seedStart = System.nanoTime();
+            SeededData data = new DataSeeder(context).seed(config);
+            System.out.printf("Seeded %d shops, %d products and %d entries in %d ms%n", config.shops(), config.products(),
+                    (long) config.shops() * config.entriesPerShop(), (System.nanoTime() - seedStart) / 1_000_000);
+
+            List<LoadClient> clients = new ArrayList<>();
+            for (SeededUser user : data.users()) {
+                LoadClient client = new LoadClient(baseUri);
+                client.login(user.username(), DataSeeder.PASSWORD, user.shopId());
+                clients.add(client);
+            }
+
+            new LoadTestHarness(config, data, clients, context.getBean(SqlStatisticsRecorder.class)).run();
+        }
+    }
+
+    private static String[] applicationArguments(String jdbcUrl, String username, String password) {
+        return new String[]{
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + (username == null ? "" : username),
+                "--spring.datasource.password=" + (password == null ? "" : password)
+        };
+    }
+
+    private void run() throws Exception {
+        StringBuilder report = new StringBuilder();
+        for (int level : config.concurrencyLevels()) {
+            workers = level;
+            replay(config.warmupRequests(), false);
+            for (Endpoint endpoint : Endpoint.values()) {
+                stats.put(endpoint, new EndpointStats());
+            }
+            sqlStatistics.reset();
+            long start = System.nanoTime();
+            replay(config.requests(), true);
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            String section = renderReport(elapsedSeconds);
+            System.out.print(section);
+            report.append(section);
+        }
+        Files.createDirectories(config.reportDir());
+        Path reportFile = config.reportDir().resolve(config.virtualThreads() ? "summary-virtual.txt" : "summary-platform.txt");
+        Files.writeString(reportFile, report);
+        System.out.println("Report written to " + reportFile.toAbsolutePath());
+    }
+
+    private void replay(int requests, boolean record) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                int clientIndex = worker % clients.size();
+                int share = requests / workers + (worker < requests % workers ? 1 : 0);
+                futures.add(executor.submit(() -> {
+                    runWorker(clients.get(clientIndex), data.users().get(clientIndex), share, record);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private void runWorker(LoadClient client, SeededUser user, int requests, boolean record) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < requests; i++) {
+            Endpoint endpoint = Endpoint.pick(random.nextInt(Endpoint.totalWeight()));
+            long start = System.nanoTime();
+            boolean success = execute(endpoint, client, user, random);
+            long elapsed = System.nanoTime() - start;
+            if (record) {
+                stats.get(endpoint).recordLatency(elapsed, success);
+            }
+        }
+    }
+
+    private boolean execute(Endpoint endpoint, LoadClient client, SeededUser user, ThreadLocalRandom random)
+            throws IOException, InterruptedException {
+        return switch (endpoint) {
+            case SHOP_DETAILS -> client.get("/shops/" + randomId(data.shopIds(), random)) == 200;
+            case PRODUCT_DETAILS -> client.get("/products/" + randomId(data.productIds(), random)) == 200;
+            case ENTRY_CREATE -> {
+                HttpResponse<Void> response = client.postForm("/entries", Map.of(
+                        "shopId", user.shopId().toString(),
+                        "productId", randomId(data.productIds(), random).toString(),
+                        "amount", Integer.toString(1 + random.nextInt(100))));
+                yield response.statusCode() == 302 && response.headers().firstValue("Location")
+                        .filter(location -> location.endsWith("/shops/" + user.shopId())).isPresent();
+            }
+            case SHOP_DATA_DOWNLOAD -> client.get("/shops/" + randomId(data.shopIds(), random) + "/shop-data-download") == 200;
+        };
+    }
+
+    private static Long randomId(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private String renderReport(double elapsedSeconds) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%nLoad test (%s threads): %d requests, %d concurrent users, %.1f s, %.0f req/s%n",
+                config.virtualThreads() ? "virtual" : "platform", config.requests(), workers, elapsedSeconds,
+                config.requests() / elapsedSeconds));
+        report.append(String.format("%-38s %8s %7s %9s %9s %9s %9s %8s %10s %12s%n",
+                "Endpoint", "Requests", "Errors", "p50 ms", "p99 ms", "p999 ms", "SQL avg", "SQL max", "Entities", "Collections"));
+        Map<String, EndpointSqlStatistics.Summary> sql = sqlStatistics.getEndpoints();
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointStats endpointStats = stats.get(endpoint);
+            EndpointSqlStatistics.Summary sqlSummary = sql.get(endpoint.getLabel());
+            report.append(String.format("%-38s %8d %7d %9.2f %9.2f %9.2f %9.1f %8d %10.1f %12.1f%n",
+                    endpoint.getLabel(),
+                    endpointStats.getCount(),
+                    endpointStats.getErrors(),
+                    endpointStats.percentileMillis(0.50),
+                    endpointStats.percentileMillis(0.99),
+                    endpointStats.percentileMillis(0.999),
+                    sqlSummary == null ? Double.NaN : sqlSummary.averageStatements(),
+                    sqlSummary == null ? 0 : sqlSummary.maxStatements(),
+                    sqlSummary == null ? Double.NaN : (double) sqlSummary.entityLoads() / sqlSummary.requests(),
+                    sqlSummary == null ? Double.NaN : (double) sqlSummary.collectionFetches() / sqlSummary.requests()));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package edu.chylaozgaoldakowski.location_manager.annotation;
+
+import edu.chylaozgaoldakowski.location_manager.config.PooledSequenceGenerator;
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Target({ ElementType.FIELD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PooledSequence {
+}
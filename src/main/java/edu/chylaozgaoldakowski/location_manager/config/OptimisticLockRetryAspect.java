@@ -0,0 +1,57 @@
+package edu.chylaozgaoldakowski.location_manager.config;
+
+import edu.chylaozgaoldakowski.location_manager.annotation.RetryOnOptimisticLock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Runs outside the transaction advice so every attempt gets a fresh transaction and persistence context.
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class OptimisticLockRetryAspect {
+    static final String RETRIES_METRIC = "service.optimistic-lock.retries";
+
+    private final MeterRegistry registry;
+
+    public OptimisticLockRetryAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("@annotation(retry)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnOptimisticLock retry) throws Throwable {
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= retry.maxAttempts()) {
+                    throw ex;
+                }
+                Counter.builder(RETRIES_METRIC).tag("method", method).register(registry).increment();
+                backOff(retry.backoffMillis() * attempt, ex);
+            }
+        }
+    }
+
+    private static void backOff(long millis, OptimisticLockingFailureException cause) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(millis / 2, millis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
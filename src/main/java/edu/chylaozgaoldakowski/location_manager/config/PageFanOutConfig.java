@@ -0,0 +1,28 @@
+package edu.chylaozgaoldakowski.location_manager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PageFanOutConfig {
+    public static final String PAGE_FAN_OUT_EXECUTOR = "pageFanOutExecutor";
+
+    // Kept apart from applicationTaskExecutor, which also serves MVC async requests and export streams. Once the
+    // bounded queue is full, the request thread runs the read itself, so an overloaded pool slows pages down
+    // instead of queueing without limit.
+    @Bean(PAGE_FAN_OUT_EXECUTOR)
+    public ThreadPoolTaskExecutor pageFanOutExecutor(@Value("${app.page.fan-out.pool-size:16}") int poolSize,
+                                                     @Value("${app.page.fan-out.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("page-fan-out-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
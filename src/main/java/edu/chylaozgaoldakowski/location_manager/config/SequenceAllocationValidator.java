@@ -0,0 +1,47 @@
+package edu.chylaozgaoldakowski.location_manager.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// V2 bakes ${allocation_size} into each sequence's INCREMENT once, so changing app.id.allocation-size afterwards
+// leaves the sequences as they were and the pooled optimizer would hand out overlapping id blocks. Changing it
+// needs a migration that alters the increments; until then the application refuses to start.
+@Component
+@DependsOnDatabaseInitialization
+public class SequenceAllocationValidator implements InitializingBean {
+    static final List<String> SEQUENCES = List.of("shop_seq", "product_seq", "entry_seq", "app_user_seq");
+    private static final String INCREMENTS_SQL = """
+            select sequencename, increment_by from pg_sequences
+            where schemaname = current_schema() and sequencename in (?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int allocationSize;
+
+    public SequenceAllocationValidator(JdbcTemplate jdbcTemplate,
+                                       @Value("${app.id.allocation-size:" + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.allocationSize = allocationSize;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Map<String, Long> mismatched = new TreeMap<>();
+        jdbcTemplate.query(INCREMENTS_SQL, resultSet -> {
+            long increment = resultSet.getLong("increment_by");
+            if (increment != allocationSize) {
+                mismatched.put(resultSet.getString("sequencename"), increment);
+            }
+        }, SEQUENCES.toArray());
+        if (!mismatched.isEmpty()) {
+            throw new IllegalStateException("app.id.allocation-size is " + allocationSize + " but the id sequences increment by "
+                    + mismatched + "; alter the sequences in a migration or restore the previous allocation size");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package edu.chylaozgaoldakowski.location_manager.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+    static final String CALLS_METRIC = "service.calls";
+    static final String ERRORS_METRIC = "service.errors";
+    static final String ROWS_METRIC = "service.rows";
+    static final String NO_ROWS = "none";
+
+    private final MeterRegistry registry;
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* edu.chylaozgaoldakowski.location_manager.shop.IShopService.*(..))"
+            + " || execution(* edu.chylaozgaoldakowski.location_manager.product.IProductService.*(..))"
+            + " || execution(* edu.chylaozgaoldakowski.location_manager.entry.IEntryService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(registry);
+
+        try {
+            Object result = joinPoint.proceed();
+            Integer rows = rowCount(result);
+            if (rows != null) {
+                DistributionSummary.builder(ROWS_METRIC)
+                        .tags("service", service, "method", method)
+                        .register(registry)
+                        .record(rows);
+            }
+            sample.stop(timer(service, method, "success", rows == null ? NO_ROWS : sizeBucket(rows)));
+            return result;
+        } catch (Throwable ex) {
+            sample.stop(timer(service, method, "error", NO_ROWS));
+            Counter.builder(ERRORS_METRIC)
+                    .tags("service", service, "method", method, "exception", ex.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+            throw ex;
+        }
+    }
+
+    private Timer timer(String service, String method, String outcome, String rows) {
+        return Timer.builder(CALLS_METRIC)
+                .tags("service", service, "method", method, "outcome", outcome, "rows", rows)
+                .register(registry);
+    }
+
+    static Integer rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.values().stream()
+                    .mapToInt(value -> value instanceof Collection<?> collection ? collection.size() : 1)
+                    .sum();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        return null;
+    }
+
+    static String sizeBucket(int rows) {
+        if (rows == 0) {
+            return "0";
+        }
+        if (rows <= 10) {
+            return "1-10";
+        }
+        if (rows <= 100) {
+            return "11-100";
+        }
+        if (rows <= 1000) {
+            return "101-1000";
+        }
+        return "1000+";
+    }
+}
@@ -0,0 +1,8 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+
+import java.math.BigDecimal;
+
+record DeletedEntry(Category category, int amount, BigDecimal totalPrice) {
+}
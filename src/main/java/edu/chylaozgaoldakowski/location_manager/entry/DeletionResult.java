@@ -0,0 +1,15 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeletionResult {
+    private boolean deleted;
+    private long entriesToPurge;
+}
@@ -1,5 +1,6 @@
 package edu.chylaozgaoldakowski.location_manager.entry;
 
+import edu.chylaozgaoldakowski.location_manager.annotation.PooledSequence;
 import edu.chylaozgaoldakowski.location_manager.product.Product;
 import edu.chylaozgaoldakowski.location_manager.shop.Shop;
 import jakarta.persistence.*;
@@ -15,18 +16,27 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_entry_product_id_shop_id", columnList = "product_id, shop_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_entry_shop_id_product_id", columnNames = {"shop_id", "product_id"}))
 public class Entry {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "shop_id")
     private Shop shop;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     private Product product;
     private int amount;
     private BigDecimal totalPrice;
+
+    @Version
+    private long version;
+
+    public Entry(Long id, Shop shop, Product product, int amount, BigDecimal totalPrice) {
+        this(id, shop, product, amount, totalPrice, 0);
+    }
 }
@@ -0,0 +1,102 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import edu.chylaozgaoldakowski.location_manager.config.PooledSequenceGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class EntryBatchRepository {
+    // Locked in product order, the same order the upsert writes in, so two imports into one shop cannot deadlock.
+    private static final String LOCK_LINES_SQL = """
+            select product_id, total_price from entry
+            where shop_id = ? and product_id = any(?)
+            order by product_id
+            for update""";
+    private static final String NEXT_ID_BLOCKS_SQL = "select nextval('entry_seq') from generate_series(1, ?)";
+    private static final String UPSERT_SQL = """
+            insert into entry (id, shop_id, product_id, amount, total_price, version)
+            select l.id, ?, l.product_id, l.amount, l.total_price, 0
+            from unnest(cast(? as bigint[]), cast(? as bigint[]), cast(? as integer[]), cast(? as numeric[]))
+                as l(id, product_id, amount, total_price)
+            on conflict (shop_id, product_id) do update set
+                amount = entry.amount + excluded.amount,
+                total_price = (entry.amount + excluded.amount) * (select p.price from product p where p.id = excluded.product_id),
+                version = entry.version + 1
+            returning product_id, xmax = 0 as created, total_price""";
+    private static final RowMapper<UpsertedLine> UPSERTED_LINE_MAPPER = (resultSet, rowNum) -> new UpsertedLine(
+            resultSet.getLong("product_id"),
+            resultSet.getBoolean("created"),
+            resultSet.getBigDecimal("total_price"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int allocationSize;
+
+    public EntryBatchRepository(JdbcTemplate jdbcTemplate, @Value("${app.entry-import.batch-size:500}") int batchSize,
+                                @Value("${app.id.allocation-size:" + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.allocationSize = allocationSize;
+    }
+
+    // Current total of each existing line, row-locked until the transaction ends so the upsert's delta stays exact.
+    public Map<Long, BigDecimal> lockLines(Long shopId, Collection<Long> productIds) {
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return totals;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_LINES_SQL);
+            statement.setLong(1, shopId);
+            statement.setArray(2, connection.createArrayOf("bigint", productIds.toArray(Long[]::new)));
+            return statement;
+        }, (RowCallbackHandler) resultSet -> totals.put(resultSet.getLong("product_id"), resultSet.getBigDecimal("total_price")));
+        return totals;
+    }
+
+    // Rows must hold at most one line per product; an existing line gets the amount added and is repriced.
+    public List<UpsertedLine> upsertAll(Long shopId, List<EntryImportRow> rows) {
+        List<EntryImportRow> ordered = rows.stream().sorted(Comparator.comparing(EntryImportRow::getProductId)).toList();
+
+        List<UpsertedLine> upserted = new ArrayList<>(ordered.size());
+        for (int from = 0; from < ordered.size(); from += batchSize) {
+            List<EntryImportRow> chunk = ordered.subList(from, Math.min(from + batchSize, ordered.size()));
+            Long[] ids = nextIds(chunk.size());
+            upserted.addAll(jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(UPSERT_SQL);
+                statement.setLong(1, shopId);
+                statement.setArray(2, connection.createArrayOf("bigint", ids));
+                statement.setArray(3, connection.createArrayOf("bigint", chunk.stream().map(EntryImportRow::getProductId).toArray(Long[]::new)));
+                statement.setArray(4, connection.createArrayOf("integer", chunk.stream().map(EntryImportRow::getAmount).toArray(Integer[]::new)));
+                statement.setArray(5, connection.createArrayOf("numeric", chunk.stream().map(EntryImportRow::getTotalPrice).toArray(BigDecimal[]::new)));
+                return statement;
+            }, UPSERTED_LINE_MAPPER));
+        }
+        return upserted;
+    }
+
+    // Reads entry_seq the way Hibernate's pooled optimizer does: each value is the top of a block of allocationSize
+    // ids, so these ids never overlap a block Hibernate hands out. SequenceAllocationValidator checks the increment.
+    private Long[] nextIds(int count) {
+        Long[] ids = new Long[count];
+        int next = 0;
+        for (Long high : jdbcTemplate.queryForList(NEXT_ID_BLOCKS_SQL, Long.class, Math.ceilDiv(count, allocationSize))) {
+            for (long id = high - allocationSize + 1; id <= high && next < count; id++) {
+                ids[next++] = id;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,11 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class EntryConflictException extends RuntimeException {
+    public EntryConflictException(String message) {
+        super(message);
+    }
+}
@@ -5,25 +5,35 @@ import edu.chylaozgaoldakowski.location_manager.shop.IShopService;
 import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.NoSuchElementException;
+
 @Controller
 @RequestMapping("/entries")
 class EntryController {
     private final IProductService productService;
     private final IEntryService entryService;
     private final IShopService shopService;
+    private final EntryImportParser entryImportParser;
 
     EntryController(@Qualifier("ProductService") IProductService productService,
                     @Qualifier("EntryService") IEntryService entryService,
-                    @Qualifier("ShopService") IShopService shopService) {
+                    @Qualifier("ShopService") IShopService shopService,
+                    EntryImportParser entryImportParser) {
         this.productService = productService;
         this.entryService = entryService;
         this.shopService = shopService;
+        this.entryImportParser = entryImportParser;
     }
 
     @GetMapping("/new")
@@ -63,23 +73,58 @@ class EntryController {
 
     @PostMapping("/update/{id}")
     public String updateEntry(@PathVariable Long id,
-                              @Valid @ModelAttribute EntryDto updatedEntry,
+                              @Valid @ModelAttribute("entry") EntryDto updatedEntry,
                               BindingResult result,
                               Model model,
                               @AuthenticationPrincipal CustomUserDetails currentUser) {
+        updatedEntry.setId(id);
         if (result.hasErrors()) {
             model.addAttribute("products", productService.getAllProducts());
             model.addAttribute("shop", shopService.getById(updatedEntry.getShopId()));
             return "entry/entry-form";
         }
-        entryService.update(id, updatedEntry, currentUser);
+        try {
+            entryService.update(id, updatedEntry, currentUser);
+        } catch (EntryConflictException e) {
+            EntryDto current = entryService.getById(id, currentUser);
+            updatedEntry.setVersion(current.getVersion());
+            result.reject("conflict", "Someone else changed this entry to " + current.getAmount() + " x "
+                    + current.getProductName() + " while you were editing. Submit again to overwrite it with your values.");
+            model.addAttribute("products", productService.getAllProducts());
+            model.addAttribute("shop", shopService.getById(updatedEntry.getShopId()));
+            return "entry/entry-form";
+        } catch (DataIntegrityViolationException e) {
+            result.rejectValue("productId", "duplicate", "This shop already has an entry for that product");
+            model.addAttribute("products", productService.getAllProducts());
+            model.addAttribute("shop", shopService.getById(updatedEntry.getShopId()));
+            return "entry/entry-form";
+        }
         return "redirect:/shops/" + updatedEntry.getShopId();
     }
 
     @PostMapping("/delete/{id}")
     public String deleteEntry(@PathVariable Long id, @AuthenticationPrincipal CustomUserDetails currentUser) {
-        Long shopId = entryService.getById(id, currentUser).getShopId();
-        entryService.deleteById(id, currentUser);
-        return "redirect:/shops/" + shopId;
+        switch (entryService.deleteById(id, currentUser)) {
+            case NOT_FOUND -> throw new NoSuchElementException("Entry not found: " + id);
+            case ACCESS_DENIED -> throw new AccessDeniedException("Cannot delete entry");
+            case DELETED -> { }
+        }
+        return "redirect:/shops/" + currentUser.getShopId();
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public EntryImportResult importCsv(@RequestParam Long shopId,
+                                       Reader body,
+                                       @AuthenticationPrincipal CustomUserDetails currentUser) throws IOException {
+        return entryService.importEntries(shopId, entryImportParser.parse(body, EntryImportFormat.CSV), currentUser);
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public EntryImportResult importNdjson(@RequestParam Long shopId,
+                                          Reader body,
+                                          @AuthenticationPrincipal CustomUserDetails currentUser) throws IOException {
+        return entryService.importEntries(shopId, entryImportParser.parse(body, EntryImportFormat.NDJSON), currentUser);
     }
 }
@@ -0,0 +1,31 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+// Ownership check and delete in one statement, returning what the inventory summary needs to subtract.
+@Repository
+public class EntryDeleteRepository {
+    private static final String DELETE_OWNED_SQL = """
+            delete from entry e using product p
+            where e.id = ? and e.shop_id = ? and p.id = e.product_id
+            returning p.category, e.amount, e.total_price""";
+    private static final RowMapper<DeletedEntry> ROW_MAPPER = (resultSet, rowNum) -> new DeletedEntry(
+            resultSet.getString("category") != null ? Category.valueOf(resultSet.getString("category")) : null,
+            resultSet.getInt("amount"),
+            resultSet.getBigDecimal("total_price"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EntryDeleteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    Optional<DeletedEntry> deleteOwned(Long entryId, Long shopId) {
+        return jdbcTemplate.query(DELETE_OWNED_SQL, ROW_MAPPER, entryId, shopId).stream().findFirst();
+    }
+}
@@ -0,0 +1,7 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+public enum EntryDeletionStatus {
+    DELETED,
+    NOT_FOUND,
+    ACCESS_DENIED
+}
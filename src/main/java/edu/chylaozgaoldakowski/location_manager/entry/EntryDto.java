@@ -23,4 +23,5 @@ public class EntryDto {
     @Positive(message = "Entry amount must be positive")
     private int amount;
     private BigDecimal totalPrice;
+    private Long version;
 }
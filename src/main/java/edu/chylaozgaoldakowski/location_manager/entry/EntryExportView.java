@@ -0,0 +1,15 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+
+import java.math.BigDecimal;
+
+public interface EntryExportView {
+    String getProductName();
+    String getProductManufacturer();
+    Category getProductCategory();
+    String getProductCode();
+    String getProductDescription();
+    int getAmount();
+    BigDecimal getTotalPrice();
+}
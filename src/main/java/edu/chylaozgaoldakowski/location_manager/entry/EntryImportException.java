@@ -0,0 +1,11 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class EntryImportException extends RuntimeException {
+    public EntryImportException(String message) {
+        super(message);
+    }
+}
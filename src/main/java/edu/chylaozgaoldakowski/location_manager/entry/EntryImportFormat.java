@@ -0,0 +1,6 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+public enum EntryImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,77 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class EntryImportParser {
+    private static final String CSV_HEADER = "productId,amount";
+
+    private final ObjectMapper objectMapper;
+
+    public EntryImportParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public List<EntryImportRow> parse(Reader reader, EntryImportFormat format) throws IOException {
+        List<EntryImportRow> rows = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || (lineNumber == 1 && format == EntryImportFormat.CSV && isCsvHeader(line))) {
+                continue;
+            }
+            EntryImportRow row = switch (format) {
+                case CSV -> parseCsvLine(line, lineNumber);
+                case NDJSON -> parseJsonLine(line, lineNumber);
+            };
+            if (row.getAmount() <= 0) {
+                throw new EntryImportException("Line " + lineNumber + ": entry amount must be positive");
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.replace(" ", "").equalsIgnoreCase(CSV_HEADER);
+    }
+
+    private static EntryImportRow parseCsvLine(String line, int lineNumber) {
+        String[] columns = line.split(",");
+        if (columns.length != 2) {
+            throw new EntryImportException("Line " + lineNumber + ": expected productId,amount");
+        }
+        try {
+            return new EntryImportRow(Long.valueOf(columns[0].strip()), Integer.parseInt(columns[1].strip()));
+        } catch (NumberFormatException e) {
+            throw new EntryImportException("Line " + lineNumber + ": productId and amount must be numbers");
+        }
+    }
+
+    private EntryImportRow parseJsonLine(String line, int lineNumber) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            JsonNode productId = node.get("productId");
+            JsonNode amount = node.get("amount");
+            if (productId == null || !productId.canConvertToLong() || amount == null || !amount.canConvertToInt()) {
+                throw new EntryImportException("Line " + lineNumber + ": expected {\"productId\": ..., \"amount\": ...}");
+            }
+            return new EntryImportRow(productId.asLong(), amount.asInt());
+        } catch (JsonProcessingException e) {
+            throw new EntryImportException("Line " + lineNumber + ": invalid JSON");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EntryImportResult {
+    private Long shopId;
+    private int rows;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+}
@@ -0,0 +1,22 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EntryImportRow {
+    private Long productId;
+    private int amount;
+    private BigDecimal totalPrice;
+
+    public EntryImportRow(Long productId, int amount) {
+        this(productId, amount, null);
+    }
+}
@@ -19,7 +19,8 @@ public class EntryMapper {
                 entry.getProduct().getId(),
                 entry.getProduct().getName(),
                 entry.getAmount(),
-                entry.getTotalPrice());
+                entry.getTotalPrice(),
+                entry.getVersion());
     }
 
     public ProductLocalizationDto toProductLocalizationDto(Entry entry) {
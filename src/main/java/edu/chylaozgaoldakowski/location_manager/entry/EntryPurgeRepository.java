@@ -0,0 +1,43 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Plain JDBC on purpose: soft-deleted shops and products are invisible to JPA queries.
+@Repository
+public class EntryPurgeRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public EntryPurgeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Long> findDeletedShopIds() {
+        return jdbcTemplate.queryForList("select id from shop where deleted = true order by id", Long.class);
+    }
+
+    public List<Long> findDeletedProductIds() {
+        return jdbcTemplate.queryForList("select id from product where deleted = true order by id", Long.class);
+    }
+
+    public int deleteShopEntries(Long shopId, int limit) {
+        return jdbcTemplate.update(
+                "delete from entry where id in (select id from entry where shop_id = ? order by id limit ?)", shopId, limit);
+    }
+
+    // No summary update: the product delete already subtracted these entries while holding the product row lock.
+    public int deleteProductEntries(Long productId, int limit) {
+        return jdbcTemplate.update(
+                "delete from entry where id in (select id from entry where product_id = ? order by id limit ?)", productId, limit);
+    }
+
+    public boolean deleteShop(Long shopId) {
+        return jdbcTemplate.update("delete from shop where id = ? and deleted = true", shopId) > 0;
+    }
+
+    public boolean deleteProduct(Long productId) {
+        return jdbcTemplate.update("delete from product where id = ? and deleted = true", productId) > 0;
+    }
+}
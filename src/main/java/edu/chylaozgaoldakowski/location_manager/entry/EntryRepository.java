@@ -1,10 +1,112 @@
 package edu.chylaozgaoldakowski.location_manager.entry;
 
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import edu.chylaozgaoldakowski.location_manager.product.ProductLocalizationDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface EntryRepository extends JpaRepository<Entry, Long> {
     List<Entry> findByProduct_Id(Long productId);
     List<Entry> findByShop_Id(Long shopId);
+
+    @Query("""
+            select new edu.chylaozgaoldakowski.location_manager.entry.EntryDto(
+                e.id, e.shop.id, p.id, p.name, e.amount, e.totalPrice, e.version)
+            from Entry e join e.product p
+            where e.shop.id = :shopId
+            order by e.id""")
+    List<EntryDto> findDtosByShopId(@Param("shopId") Long shopId);
+
+    @Query("""
+            select new edu.chylaozgaoldakowski.location_manager.entry.EntryDto(
+                e.id, e.shop.id, p.id, p.name, e.amount, e.totalPrice, e.version)
+            from Entry e join e.product p
+            where e.id = :id""")
+    Optional<EntryDto> findDtoById(@Param("id") Long id);
+
+    @Query("""
+            select new edu.chylaozgaoldakowski.location_manager.product.ProductLocalizationDto(
+                s.id, s.name, s.address, s.city, e.amount, e.totalPrice)
+            from Entry e join e.shop s
+            where e.product.id = :productId
+            order by s.name, s.id""")
+    List<ProductLocalizationDto> findLocalizationsByProductId(@Param("productId") Long productId);
+
+    @Query("""
+            select new edu.chylaozgaoldakowski.location_manager.product.ProductLocalizationDto(
+                s.id, s.name, s.address, s.city, e.amount, e.totalPrice)
+            from Entry e join e.shop s
+            where e.product.id = :productId and s.id = :shopId
+            order by e.id""")
+    List<ProductLocalizationDto> findLocalizationsByProductIdAndShopId(@Param("productId") Long productId,
+                                                                      @Param("shopId") Long shopId);
+
+    @Query("select e from Entry e join fetch e.shop join fetch e.product where e.shop.id = :shopId order by e.id")
+    List<Entry> findWithProductByShopId(@Param("shopId") Long shopId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select p.name as productName, p.manufacturer as productManufacturer, p.category as productCategory,
+                p.productCode as productCode, p.description as productDescription,
+                e.amount as amount, e.totalPrice as totalPrice
+            from Entry e join e.product p
+            where e.shop.id = :shopId
+            order by e.id""")
+    Stream<EntryExportView> streamExportViewsByShopId(@Param("shopId") Long shopId);
+
+    @Query("""
+            select s.id as shopId, count(e) as entryCount, coalesce(sum(e.amount), 0) as totalAmount,
+                coalesce(sum(e.totalPrice), 0) as totalValue
+            from Entry e join e.shop s
+            where e.product.id = :productId
+            group by s.id""")
+    List<ShopStockView> findStockByShopForProduct(@Param("productId") Long productId);
+
+    @Query("""
+            select count(distinct s.id) as shopCount, coalesce(sum(e.amount), 0) as totalAmount,
+                coalesce(sum(e.totalPrice), 0) as totalValue
+            from Entry e join e.shop s
+            where e.product.id = :productId""")
+    StockTotalsView findStockTotalsForProduct(@Param("productId") Long productId);
+
+    @Query("""
+            select count(distinct s.id) as shopCount, coalesce(sum(e.amount), 0) as totalAmount,
+                coalesce(sum(e.totalPrice), 0) as totalValue
+            from Entry e join e.shop s join e.product p
+            where p.category = :category""")
+    StockTotalsView findStockTotalsForCategory(@Param("category") Category category);
+
+    @Query("""
+            select s.id as shopId, s.name as shopName, s.city as shopCity, sum(e.amount) as totalAmount,
+                sum(e.totalPrice) as totalValue
+            from Entry e join e.shop s
+            where e.product.id = :productId
+            group by s.id, s.name, s.city
+            order by sum(e.amount) desc, s.id""")
+    List<ShopStockRankView> findTopShopsForProduct(@Param("productId") Long productId, Limit limit);
+
+    @Query("""
+            select s.id as shopId, s.name as shopName, s.city as shopCity, sum(e.amount) as totalAmount,
+                sum(e.totalPrice) as totalValue
+            from Entry e join e.shop s join e.product p
+            where p.category = :category
+            group by s.id, s.name, s.city
+            order by sum(e.amount) desc, s.id""")
+    List<ShopStockRankView> findTopShopsForCategory(@Param("category") Category category, Limit limit);
+
+    long countByShop_Id(Long shopId);
+
+    long countByProduct_Id(Long productId);
 }
@@ -1,64 +1,98 @@
 package edu.chylaozgaoldakowski.location_manager.entry;
 
+import edu.chylaozgaoldakowski.location_manager.annotation.RetryOnOptimisticLock;
+import edu.chylaozgaoldakowski.location_manager.product.Category;
 import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.product.ProductPriceView;
 import edu.chylaozgaoldakowski.location_manager.product.ProductRepository;
 import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopInventory;
 import edu.chylaozgaoldakowski.location_manager.shop.ShopRepository;
 import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service("EntryService")
 public class EntryService implements IEntryService{
+    // Summary rows are always written in this order so two transactions touching the same categories cannot deadlock.
+    private static final Comparator<Category> CATEGORY_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
     private final EntryRepository entryRepository;
     private final ShopRepository shopRepository;
     private final ProductRepository productRepository;
-    private final EntryMapper entryMapper;
+    private final EntryBatchRepository entryBatchRepository;
+    private final EntryDeleteRepository entryDeleteRepository;
+    private final ShopInventory shopInventory;
 
-    EntryService(EntryRepository entryRepository, ShopRepository shopRepository, ProductRepository productRepository, EntryMapper entryMapper) {
+    EntryService(EntryRepository entryRepository, ShopRepository shopRepository, ProductRepository productRepository,
+                 EntryBatchRepository entryBatchRepository, EntryDeleteRepository entryDeleteRepository,
+                 ShopInventory shopInventory) {
         this.entryRepository = entryRepository;
         this.shopRepository = shopRepository;
         this.productRepository = productRepository;
-        this.entryMapper = entryMapper;
+        this.entryBatchRepository = entryBatchRepository;
+        this.entryDeleteRepository = entryDeleteRepository;
+        this.shopInventory = shopInventory;
     }
 
     @Override
+    @RetryOnOptimisticLock
+    @Transactional
     public void save(EntryDto entryDto, CustomUserDetails currentUser) {
         Shop currentShop = shopRepository.findById(entryDto.getShopId()).orElseThrow();
 
-        if (doesUserHasAccessToShop(currentUser, currentShop)){
-            Entry newEntry = new Entry();
-
-            newEntry.setShop(currentShop);
-            newEntry.setProduct(productRepository.findById(entryDto.getProductId()).orElseThrow());
-            newEntry.setAmount(entryDto.getAmount());
+        if (doesUserHasAccessToShop(currentUser, currentShop.getId())){
+            ProductPriceView product = productRepository.findPricesForShareByIdIn(List.of(entryDto.getProductId())).stream()
+                    .findFirst().orElseThrow();
+            Map<Long, BigDecimal> previousTotals = entryBatchRepository.lockLines(currentShop.getId(), List.of(product.getId()));
 
-            var totalPrice = newEntry.getProduct().getPrice().multiply(BigDecimal.valueOf(newEntry.getAmount()));
-            newEntry.setTotalPrice(totalPrice);
-            entryRepository.save(newEntry);
+            var totalPrice = product.getPrice().multiply(BigDecimal.valueOf(entryDto.getAmount()));
+            UpsertedLine line = entryBatchRepository.upsertAll(currentShop.getId(),
+                    List.of(new EntryImportRow(product.getId(), entryDto.getAmount(), totalPrice))).getFirst();
+            InventoryDelta delta = upsertDelta(currentShop.getId(), line, entryDto.getAmount(), previousTotals);
+            shopInventory.record(currentShop.getId(), product.getCategory(), delta.entries(), delta.amount(), delta.value());
         }else {
             throw new AccessDeniedException("Cannot create entry");
         }
     }
 
     @Override
-    public void deleteById(Long entryId, CustomUserDetails currentUser) {
-        Entry entry = entryRepository.findById(entryId).orElseThrow();
-
-        if (doesUserHasAccessToShop(currentUser, entry.getShop())){
-            entryRepository.deleteById(entryId);
-        }else {
-            throw new AccessDeniedException("Cannot delete entry");
+    @Transactional
+    public EntryDeletionStatus deleteById(Long entryId, CustomUserDetails currentUser) {
+        Long shopId = currentUser != null ? currentUser.getShopId() : null;
+        Optional<DeletedEntry> deleted = shopId != null
+                ? entryDeleteRepository.deleteOwned(entryId, shopId)
+                : Optional.empty();
+
+        if (deleted.isEmpty()) {
+            return entryRepository.existsById(entryId) ? EntryDeletionStatus.ACCESS_DENIED : EntryDeletionStatus.NOT_FOUND;
         }
+        DeletedEntry entry = deleted.get();
+        shopInventory.record(shopId, entry.category(), -1, -entry.amount(), entry.totalPrice().negate());
+        return EntryDeletionStatus.DELETED;
     }
 
     @Override
     public EntryDto getById(Long entryId, CustomUserDetails currentUser) {
-        Entry entry = entryRepository.findById(entryId).orElseThrow();
-        if (doesUserHasAccessToShop(currentUser, entry.getShop())) {
-            return entryMapper.toDto(entry);
+        EntryDto entry = entryRepository.findDtoById(entryId).orElseThrow();
+        if (doesUserHasAccessToShop(currentUser, entry.getShopId())) {
+            return entry;
         } else {
             throw new AccessDeniedException("Cannot access entry with id: " + entryId);
         }
@@ -66,10 +100,23 @@ public class EntryService implements IEntryService{
     }
 
     @Override
+    @RetryOnOptimisticLock
+    @Transactional
     public void update(Long id, EntryDto updatedEntry, CustomUserDetails currentUser) {
         Entry entryToUpdate = entryRepository.findById(id).orElseThrow();
 
-        if (doesUserHasAccessToShop(currentUser, entryToUpdate.getShop())){
+        if (doesUserHasAccessToShop(currentUser, entryToUpdate.getShop().getId())){
+            if (updatedEntry.getVersion() != null && updatedEntry.getVersion() != entryToUpdate.getVersion()) {
+                throw new EntryConflictException("Entry " + id + " was changed by someone else");
+            }
+            Set<Long> productIds = Stream.of(entryToUpdate.getProduct().getId(), updatedEntry.getProductId()).collect(Collectors.toSet());
+            if (productRepository.findPricesForShareByIdIn(productIds).size() != productIds.size()) {
+                throw new NoSuchElementException("Product not found for entry " + id);
+            }
+            Long shopId = entryToUpdate.getShop().getId();
+            Category previousCategory = entryToUpdate.getProduct().getCategory();
+            InventoryDelta removed = new InventoryDelta(-1, -entryToUpdate.getAmount(), entryToUpdate.getTotalPrice().negate());
+
             Product product = productRepository.findById(updatedEntry.getProductId()).orElseThrow();
             entryToUpdate.setProduct(product);
 
@@ -78,16 +125,87 @@ public class EntryService implements IEntryService{
             var totalPrice = entryToUpdate.getProduct().getPrice().multiply(BigDecimal.valueOf(entryToUpdate.getAmount()));
             entryToUpdate.setTotalPrice(totalPrice);
 
-            entryRepository.save(entryToUpdate);
+            // Flushed before the summary is touched: every write path locks its products, then the entry rows, then the
+            // summary rows, and the flush also trips uk_entry_shop_id_product_id here for a product the shop already lists.
+            entryRepository.saveAndFlush(entryToUpdate);
+            Map<Category, InventoryDelta> deltas = new TreeMap<>(CATEGORY_ORDER);
+            deltas.put(previousCategory, removed);
+            deltas.merge(product.getCategory(), new InventoryDelta(1, entryToUpdate.getAmount(), totalPrice), InventoryDelta::plus);
+            deltas.forEach((category, delta) -> shopInventory.record(shopId, category, delta.entries(), delta.amount(), delta.value()));
         }else {
             throw new AccessDeniedException("Cannot update entry with id: " + updatedEntry.getId());
         }
 
     }
-    private boolean doesUserHasAccessToShop(CustomUserDetails user, Shop shop){
+    @Override
+    @RetryOnOptimisticLock
+    @Transactional
+    public EntryImportResult importEntries(Long shopId, List<EntryImportRow> rows, CustomUserDetails currentUser) {
+        long start = System.nanoTime();
+
+        if (!shopRepository.existsById(shopId)) {
+            throw new NoSuchElementException("Shop not found: " + shopId);
+        }
+        if (currentUser == null || !shopId.equals(currentUser.getShopId())) {
+            throw new AccessDeniedException("Cannot import entries into shop with id: " + shopId);
+        }
+
+        Set<Long> productIds = rows.stream().map(EntryImportRow::getProductId).collect(Collectors.toSet());
+        Map<Long, ProductPriceView> prices = productIds.isEmpty() ? Map.of() : productRepository.findPricesForShareByIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductPriceView::getId, Function.identity()));
+        if (prices.size() != productIds.size()) {
+            throw new EntryImportException("Unknown product ids: " + productIds.stream()
+                    .filter(id -> !prices.containsKey(id))
+                    .sorted()
+                    .toList());
+        }
+
+        Map<Long, EntryImportRow> lines = new LinkedHashMap<>();
+        for (EntryImportRow row : rows) {
+            ProductPriceView product = prices.get(row.getProductId());
+            row.setTotalPrice(product.getPrice().multiply(BigDecimal.valueOf(row.getAmount())));
+            lines.merge(row.getProductId(), new EntryImportRow(row.getProductId(), row.getAmount(), row.getTotalPrice()),
+                    (line, next) -> new EntryImportRow(line.getProductId(), line.getAmount() + next.getAmount(),
+                            line.getTotalPrice().add(next.getTotalPrice())));
+        }
+        Map<Long, BigDecimal> previousTotals = entryBatchRepository.lockLines(shopId, lines.keySet());
+
+        Map<Category, InventoryDelta> deltas = new TreeMap<>(CATEGORY_ORDER);
+        for (UpsertedLine line : entryBatchRepository.upsertAll(shopId, List.copyOf(lines.values()))) {
+            deltas.merge(prices.get(line.productId()).getCategory(),
+                    upsertDelta(shopId, line, lines.get(line.productId()).getAmount(), previousTotals), InventoryDelta::plus);
+        }
+        deltas.forEach((category, delta) -> shopInventory.record(shopId, category, delta.entries(), delta.amount(), delta.value()));
+
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+        long rowsPerSecond = rows.size() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        return new EntryImportResult(shopId, rows.size(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+    }
+
+    // An update of a line that was not locked beforehand means another transaction created it in between, so its
+    // previous total is unknown; failing here rolls the upsert back and lets the retry lock the line first.
+    private static InventoryDelta upsertDelta(Long shopId, UpsertedLine line, int amount, Map<Long, BigDecimal> previousTotals) {
+        if (line.created()) {
+            return new InventoryDelta(1, amount, line.totalPrice());
+        }
+        BigDecimal previousTotal = previousTotals.get(line.productId());
+        if (previousTotal == null) {
+            throw new OptimisticLockingFailureException(
+                    "Entry for product " + line.productId() + " in shop " + shopId + " was created concurrently");
+        }
+        return new InventoryDelta(0, amount, line.totalPrice().subtract(previousTotal));
+    }
+
+    private record InventoryDelta(long entries, long amount, BigDecimal value) {
+        InventoryDelta plus(InventoryDelta other) {
+            return new InventoryDelta(entries + other.entries, amount + other.amount, value.add(other.value));
+        }
+    }
+
+    private boolean doesUserHasAccessToShop(CustomUserDetails user, Long shopId){
         if (user == null) {
             return false;
         }
-        return user.getShopId().equals(shop.getId());
+        return shopId.equals(user.getShopId());
     }
 }
@@ -0,0 +1,11 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import java.math.BigDecimal;
+
+public interface ShopStockRankView {
+    Long getShopId();
+    String getShopName();
+    String getShopCity();
+    long getTotalAmount();
+    BigDecimal getTotalValue();
+}
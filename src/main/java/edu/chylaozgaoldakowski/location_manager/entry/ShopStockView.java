@@ -0,0 +1,10 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import java.math.BigDecimal;
+
+public interface ShopStockView {
+    Long getShopId();
+    long getEntryCount();
+    long getTotalAmount();
+    BigDecimal getTotalValue();
+}
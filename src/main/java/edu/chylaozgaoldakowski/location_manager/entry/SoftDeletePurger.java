@@ -0,0 +1,72 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Each chunk is its own auto-committed statement, so row locks are held only for one chunk at a time.
+@Component
+public class SoftDeletePurger {
+    private static final Logger log = LoggerFactory.getLogger(SoftDeletePurger.class);
+
+    private final EntryPurgeRepository purgeRepository;
+    private final int chunkSize;
+    private final Duration pause;
+
+    public SoftDeletePurger(EntryPurgeRepository purgeRepository,
+                            @Value("${app.purge.chunk-size:500}") int chunkSize,
+                            @Value("${app.purge.pause:50ms}") Duration pause) {
+        this.purgeRepository = purgeRepository;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+    }
+
+    @Scheduled(initialDelayString = "${app.purge.interval:PT30S}", fixedDelayString = "${app.purge.interval:PT30S}")
+    public void purge() {
+        for (Long shopId : purgeRepository.findDeletedShopIds()) {
+            purge("shop", shopId, purgeRepository::deleteShopEntries, purgeRepository::deleteShop);
+        }
+        for (Long productId : purgeRepository.findDeletedProductIds()) {
+            purge("product", productId, purgeRepository::deleteProductEntries, purgeRepository::deleteProduct);
+        }
+    }
+
+    private void purge(String kind, Long id, BiFunction<Long, Integer, Integer> deleteEntries, Function<Long, Boolean> deleteParent) {
+        long removed = 0;
+        int chunk;
+        do {
+            chunk = deleteEntries.apply(id, chunkSize);
+            removed += chunk;
+            if (chunk == chunkSize && !pause()) {
+                return;
+            }
+        } while (chunk == chunkSize);
+
+        try {
+            deleteParent.apply(id);
+            log.info("Purged {} {} and {} entries", kind, id, removed);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Purged {} entries of {} {} but it is still referenced, retrying on the next run", removed, kind, id);
+        }
+    }
+
+    private boolean pause() {
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
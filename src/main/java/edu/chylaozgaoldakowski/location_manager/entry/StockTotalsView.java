@@ -0,0 +1,9 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import java.math.BigDecimal;
+
+public interface StockTotalsView {
+    long getShopCount();
+    long getTotalAmount();
+    BigDecimal getTotalValue();
+}
@@ -0,0 +1,6 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import java.math.BigDecimal;
+
+public record UpsertedLine(Long productId, boolean created, BigDecimal totalPrice) {
+}
@@ -0,0 +1,46 @@
+package edu.chylaozgaoldakowski.location_manager.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointSqlStatistics {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder flaggedRequests = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final AtomicLong maxStatements = new AtomicLong();
+    private final LongAdder entityLoads = new LongAdder();
+    private final LongAdder collectionFetches = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    void add(RequestSqlStatistics request, boolean flagged) {
+        requests.increment();
+        if (flagged) {
+            flaggedRequests.increment();
+        }
+        statements.add(request.getStatements());
+        maxStatements.accumulateAndGet(request.getStatements(), Math::max);
+        entityLoads.add(request.getEntityLoads());
+        collectionFetches.add(request.getCollectionFetches());
+        cacheHits.add(request.getCacheHits());
+        cacheMisses.add(request.getCacheMisses());
+    }
+
+    Summary summarize() {
+        long count = requests.sum();
+        return new Summary(count, flaggedRequests.sum(), statements.sum(),
+                count == 0 ? 0 : (double) statements.sum() / count, maxStatements.get(),
+                entityLoads.sum(), collectionFetches.sum(), cacheHits.sum(), cacheMisses.sum());
+    }
+
+    public record Summary(long requests,
+                          long flaggedRequests,
+                          long statements,
+                          double averageStatements,
+                          long maxStatements,
+                          long entityLoads,
+                          long collectionFetches,
+                          long secondLevelCacheHits,
+                          long secondLevelCacheMisses) {
+    }
+}
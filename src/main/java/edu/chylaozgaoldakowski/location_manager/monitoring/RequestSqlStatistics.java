@@ -0,0 +1,73 @@
+package edu.chylaozgaoldakowski.location_manager.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class RequestSqlStatistics {
+    static final String ATTRIBUTE = RequestSqlStatistics.class.getName();
+
+    private static final ThreadLocal<RequestSqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder entityLoads = new LongAdder();
+    private final LongAdder collectionFetches = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    public static RequestSqlStatistics begin() {
+        RequestSqlStatistics statistics = new RequestSqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void resume(RequestSqlStatistics statistics) {
+        CURRENT.set(statistics);
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static RequestSqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared() {
+        statements.increment();
+    }
+
+    void entityLoaded() {
+        entityLoads.increment();
+    }
+
+    void collectionFetched() {
+        collectionFetches.increment();
+    }
+
+    void cacheAccessed(boolean hit) {
+        if (hit) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
+        }
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getEntityLoads() {
+        return entityLoads.sum();
+    }
+
+    public long getCollectionFetches() {
+        return collectionFetches.sum();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+}
@@ -0,0 +1,23 @@
+package edu.chylaozgaoldakowski.location_manager.monitoring;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+class SqlStatisticsCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object statistics = request.getAttribute(RequestSqlStatistics.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (statistics instanceof RequestSqlStatistics requestStatistics) {
+            RequestSqlStatistics.resume(requestStatistics);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        RequestSqlStatistics.end();
+    }
+}
@@ -0,0 +1,62 @@
+package edu.chylaozgaoldakowski.location_manager.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class SqlStatisticsConfig {
+    static final String INTEGRATOR_PROVIDER_SETTING = "hibernate.integrator_provider";
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatisticsListenersCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatisticsSessionListener.class.getName());
+            properties.put(INTEGRATOR_PROVIDER_SETTING, (IntegratorProvider) () -> List.of(new SqlStatisticsIntegrator()));
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(SqlStatisticsRecorder recorder) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration = new FilterRegistrationBean<>(new SqlStatisticsFilter(recorder));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer sqlStatisticsAsyncConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(new SqlStatisticsCallableInterceptor());
+            }
+        };
+    }
+
+    @Bean
+    public TaskDecorator sqlStatisticsTaskDecorator() {
+        return task -> {
+            RequestSqlStatistics statistics = RequestSqlStatistics.current();
+            if (statistics == null) {
+                return task;
+            }
+            return () -> {
+                RequestSqlStatistics.resume(statistics);
+                try {
+                    task.run();
+                } finally {
+                    RequestSqlStatistics.end();
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package edu.chylaozgaoldakowski.location_manager.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatisticsEndpoint {
+    private final SqlStatisticsRecorder recorder;
+
+    public SqlStatisticsEndpoint(SqlStatisticsRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public SqlStatisticsReport report() {
+        return new SqlStatisticsReport(recorder.getStatementThreshold(), recorder.getEndpoints(), recorder.getRecentFlagged());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+    }
+
+    public record SqlStatisticsReport(int statementThreshold,
+                                      Map<String, EndpointSqlStatistics.Summary> endpoints,
+                                      List<SqlStatisticsRecorder.FlaggedRequest> recentFlagged) {
+    }
+}
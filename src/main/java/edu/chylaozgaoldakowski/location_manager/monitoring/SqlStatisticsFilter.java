@@ -0,0 +1,63 @@
+package edu.chylaozgaoldakowski.location_manager.monitoring;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+    static final String UNMAPPED = "unmapped";
+
+    private final SqlStatisticsRecorder recorder;
+
+    public SqlStatisticsFilter(SqlStatisticsRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestSqlStatistics statistics = RequestSqlStatistics.begin();
+        request.setAttribute(RequestSqlStatistics.ATTRIBUTE, statistics);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStatistics.end();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, statistics, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, statistics, start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStatistics statistics, long start) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : UNMAPPED);
+        recorder.record(endpoint, request.getRequestURI(), statistics, System.nanoTime() - start);
+    }
+}
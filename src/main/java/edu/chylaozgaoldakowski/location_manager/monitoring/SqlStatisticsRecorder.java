@@ -0,0 +1,86 @@
+package edu.chylaozgaoldakowski.location_manager.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class SqlStatisticsRecorder {
+    private static final Logger log = LoggerFactory.getLogger("sql.requests");
+
+    private final int statementThreshold;
+    private final int recentFlaggedLimit;
+    private final ConcurrentMap<String, EndpointSqlStatistics> endpoints = new ConcurrentHashMap<>();
+    private final Deque<FlaggedRequest> recentFlagged = new ArrayDeque<>();
+
+    public SqlStatisticsRecorder(@Value("${app.sql-statistics.statement-threshold:20}") int statementThreshold,
+                                 @Value("${app.sql-statistics.recent-flagged-limit:50}") int recentFlaggedLimit) {
+        this.statementThreshold = statementThreshold;
+        this.recentFlaggedLimit = recentFlaggedLimit;
+    }
+
+    public void record(String endpoint, String uri, RequestSqlStatistics statistics, long elapsedNanos) {
+        boolean flagged = statistics.getStatements() > statementThreshold;
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointSqlStatistics()).add(statistics, flagged);
+
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        if (flagged) {
+            log.warn("{} ({}) ran {} statements, over the threshold of {}: {} entity loads, {} collection fetches, {} ms",
+                    endpoint, uri, statistics.getStatements(), statementThreshold,
+                    statistics.getEntityLoads(), statistics.getCollectionFetches(), elapsedMillis);
+            synchronized (recentFlagged) {
+                if (recentFlagged.size() == recentFlaggedLimit) {
+                    recentFlagged.removeLast();
+                }
+                recentFlagged.addFirst(new FlaggedRequest(Instant.now(), endpoint, uri, statistics.getStatements(),
+                        statistics.getEntityLoads(), statistics.getCollectionFetches(), elapsedMillis));
+            }
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} ({}) ran {} statements: {} entity loads, {} collection fetches, {} cache hits, {} ms",
+                    endpoint, uri, statistics.getStatements(), statistics.getEntityLoads(),
+                    statistics.getCollectionFetches(), statistics.getCacheHits(), elapsedMillis);
+        }
+    }
+
+    public int getStatementThreshold() {
+        return statementThreshold;
+    }
+
+    public Map<String, EndpointSqlStatistics.Summary> getEndpoints() {
+        Map<String, EndpointSqlStatistics.Summary> summaries = new TreeMap<>();
+        endpoints.forEach((endpoint, statistics) -> summaries.put(endpoint, statistics.summarize()));
+        return summaries;
+    }
+
+    public List<FlaggedRequest> getRecentFlagged() {
+        synchronized (recentFlagged) {
+            return List.copyOf(recentFlagged);
+        }
+    }
+
+    public void reset() {
+        endpoints.clear();
+        synchronized (recentFlagged) {
+            recentFlagged.clear();
+        }
+    }
+
+    public record FlaggedRequest(Instant timestamp,
+                                 String endpoint,
+                                 String uri,
+                                 long statements,
+                                 long entityLoads,
+                                 long collectionFetches,
+                                 long elapsedMillis) {
+    }
+}
@@ -0,0 +1,22 @@
+package edu.chylaozgaoldakowski.location_manager.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+public class SqlStatisticsSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics != null) {
+            statistics.statementPrepared();
+        }
+    }
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics != null) {
+            statistics.cacheAccessed(hit);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package edu.chylaozgaoldakowski.location_manager.page;
+
+import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
+
+public interface IPageModelService {
+    ShopDetailsPage getShopDetails(Long shopId);
+    ProductDetailsPage getProductDetails(Long productId, CustomUserDetails currentUser);
+}
@@ -0,0 +1,11 @@
+package edu.chylaozgaoldakowski.location_manager.page;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PageLoadTimeoutException extends RuntimeException {
+    public PageLoadTimeoutException(String message) {
+        super(message);
+    }
+}
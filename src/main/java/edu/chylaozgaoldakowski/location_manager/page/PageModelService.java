@@ -0,0 +1,76 @@
+package edu.chylaozgaoldakowski.location_manager.page;
+
+import edu.chylaozgaoldakowski.location_manager.entry.EntryDto;
+import edu.chylaozgaoldakowski.location_manager.product.IProductService;
+import edu.chylaozgaoldakowski.location_manager.product.ProductDto;
+import edu.chylaozgaoldakowski.location_manager.product.ProductLocalizationDto;
+import edu.chylaozgaoldakowski.location_manager.shop.IShopService;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopDto;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopInventoryDto;
+import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
+import edu.chylaozgaoldakowski.location_manager.config.PageFanOutConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Service("PageModelService")
+public class PageModelService implements IPageModelService {
+    private final IShopService shopService;
+    private final IProductService productService;
+    private final Executor executor;
+    private final Duration timeout;
+
+    public PageModelService(@Qualifier("ShopService") IShopService shopService,
+                            @Qualifier("ProductService") IProductService productService,
+                            @Qualifier(PageFanOutConfig.PAGE_FAN_OUT_EXECUTOR) Executor executor,
+                            @Value("${app.page.fan-out.timeout:5s}") Duration timeout) {
+        this.shopService = shopService;
+        this.productService = productService;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public ShopDetailsPage getShopDetails(Long shopId) {
+        CompletableFuture<ShopDto> shop = supply(() -> shopService.getById(shopId));
+        CompletableFuture<List<EntryDto>> entries = supply(() -> shopService.getEntriesById(shopId));
+        CompletableFuture<ShopInventoryDto> inventory = supply(() -> shopService.getInventory(shopId));
+        return new ShopDetailsPage(join(shop), join(entries), join(inventory));
+    }
+
+    @Override
+    public ProductDetailsPage getProductDetails(Long productId, CustomUserDetails currentUser) {
+        CompletableFuture<List<ProductLocalizationDto>> localizations = supply(
+                () -> productService.getLocalizationsForCurrentUser(productId, currentUser));
+        ProductDto product = productService.getProductDetailsById(productId);
+        return new ProductDetailsPage(product, join(localizations));
+    }
+
+    // The timeout starts when the read is submitted, so every read of a page shares the same deadline.
+    private <T> CompletableFuture<T> supply(Supplier<T> read) {
+        return CompletableFuture.supplyAsync(read, executor).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                throw new PageLoadTimeoutException("Page reads did not finish within " + timeout);
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package edu.chylaozgaoldakowski.location_manager.page;
+
+import edu.chylaozgaoldakowski.location_manager.product.ProductDto;
+import edu.chylaozgaoldakowski.location_manager.product.ProductLocalizationDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductDetailsPage {
+    private ProductDto product;
+    private List<ProductLocalizationDto> localizations;
+}
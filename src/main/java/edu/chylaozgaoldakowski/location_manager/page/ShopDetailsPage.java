@@ -0,0 +1,17 @@
+package edu.chylaozgaoldakowski.location_manager.page;
+
+import edu.chylaozgaoldakowski.location_manager.entry.EntryDto;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopDto;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopInventoryDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ShopDetailsPage {
+    private ShopDto shop;
+    private List<EntryDto> entries;
+    private ShopInventoryDto inventory;
+}
@@ -1,14 +1,20 @@
 package edu.chylaozgaoldakowski.location_manager.product;
 
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
 import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
 
 import java.util.List;
+import java.util.Map;
 
 public interface IProductService {
     List<ProductDto> getAllProducts();
+    Map<Category, List<ProductDto>> getProductsByCategory();
+    List<ProductDto> getProductsByCategory(Category category);
     ProductDto getProductDetailsById(Long id);
     void saveProduct(ProductDto productDto);
-    void deleteProductById(Long id);
+    DeletionResult deleteProductById(Long id);
     void updateProduct(Long id, ProductDto updatedProduct);
     List<ProductLocalizationDto> getLocalizationsForCurrentUser(Long id, CustomUserDetails currentUser);
+    StockSummaryDto getStockSummary(Long id, int topShops);
+    StockSummaryDto getStockSummary(Category category, int topShops);
 }
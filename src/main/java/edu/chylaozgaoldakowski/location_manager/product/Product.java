@@ -1,7 +1,10 @@
 package edu.chylaozgaoldakowski.location_manager.product;
 
+import edu.chylaozgaoldakowski.location_manager.annotation.PooledSequence;
 import edu.chylaozgaoldakowski.location_manager.entry.Entry;
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,15 +14,18 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
-@Table
+@Table(indexes = @Index(name = "idx_product_category_name", columnList = "category, name"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_product_code", columnNames = "product_code"))
 @Entity
+@SQLDelete(sql = "update product set deleted = true where id = ?")
+@SQLRestriction("deleted = false")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence
     private Long id;
     private String name;
     private String manufacturer;
@@ -29,6 +35,12 @@ public class Product {
     private String description;
     private BigDecimal price;
 
-    @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "product")
     private List<Entry> entries = new ArrayList<>();
+    private boolean deleted;
+
+    public Product(Long id, String name, String manufacturer, Category category, String productCode,
+                   String description, BigDecimal price, List<Entry> entries) {
+        this(id, name, manufacturer, category, productCode, description, price, entries, false);
+    }
 }
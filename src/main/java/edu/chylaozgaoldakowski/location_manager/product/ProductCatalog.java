@@ -0,0 +1,150 @@
+package edu.chylaozgaoldakowski.location_manager.product;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// ProductDto is a mutable form-backing bean, so the snapshot keeps private copies and every read hands out fresh
+// ones; a caller editing what it got can neither change the catalog nor what concurrent requests see.
+@Component
+public class ProductCatalog {
+    private static final Comparator<ProductDto> BY_ID = Comparator.comparing(ProductDto::getId);
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private volatile Snapshot snapshot;
+
+    public ProductCatalog(ProductRepository productRepository, ProductMapper productMapper) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+    }
+
+    public List<ProductDto> getAll() {
+        return copyOf(current().products());
+    }
+
+    public Optional<ProductDto> findById(Long id) {
+        return Optional.ofNullable(current().byId().get(id)).map(ProductCatalog::copyOf);
+    }
+
+    public Map<Category, List<ProductDto>> getByCategory() {
+        EnumMap<Category, List<ProductDto>> byCategory = new EnumMap<>(Category.class);
+        current().byCategory().forEach((category, products) -> byCategory.put(category, copyOf(products)));
+        return Collections.unmodifiableMap(byCategory);
+    }
+
+    public List<ProductDto> getByCategory(Category category) {
+        return copyOf(current().byCategory().getOrDefault(category, List.of()));
+    }
+
+    public synchronized void put(ProductDto added) {
+        ProductDto product = copyOf(added);
+        Snapshot base = current();
+        Map<Long, ProductDto> byId = new HashMap<>(base.byId());
+        ProductDto previous = byId.put(product.getId(), product);
+
+        EnumMap<Category, List<ProductDto>> byCategory = copyOf(base.byCategory());
+        if (previous != null) {
+            removeFromCategory(byCategory, previous);
+        }
+        if (product.getCategory() != null) {
+            List<ProductDto> categoryProducts = new ArrayList<>(byCategory.getOrDefault(product.getCategory(), List.of()));
+            categoryProducts.add(product);
+            categoryProducts.sort(BY_ID);
+            byCategory.put(product.getCategory(), List.copyOf(categoryProducts));
+        }
+
+        snapshot = Snapshot.of(byId, byCategory);
+    }
+
+    public synchronized void remove(Long id) {
+        Snapshot base = current();
+        if (!base.byId().containsKey(id)) {
+            return;
+        }
+        Map<Long, ProductDto> byId = new HashMap<>(base.byId());
+        ProductDto previous = byId.remove(id);
+
+        EnumMap<Category, List<ProductDto>> byCategory = copyOf(base.byCategory());
+        removeFromCategory(byCategory, previous);
+
+        snapshot = Snapshot.of(byId, byCategory);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        Map<Long, ProductDto> byId = new HashMap<>();
+        Map<Category, List<ProductDto>> grouped = new EnumMap<>(Category.class);
+        for (Product product : productRepository.findAll()) {
+            ProductDto dto = productMapper.toProductDetailsDto(product);
+            byId.put(dto.getId(), dto);
+            if (dto.getCategory() != null) {
+                grouped.computeIfAbsent(dto.getCategory(), category -> new ArrayList<>()).add(dto);
+            }
+        }
+
+        EnumMap<Category, List<ProductDto>> byCategory = new EnumMap<>(Category.class);
+        grouped.forEach((category, products) -> {
+            products.sort(BY_ID);
+            byCategory.put(category, List.copyOf(products));
+        });
+        return Snapshot.of(byId, byCategory);
+    }
+
+    private static ProductDto copyOf(ProductDto product) {
+        return new ProductDto(product.getId(), product.getName(), product.getManufacturer(), product.getCategory(),
+                product.getProductCode(), product.getDescription(), product.getPrice());
+    }
+
+    private static List<ProductDto> copyOf(List<ProductDto> products) {
+        return products.stream().map(ProductCatalog::copyOf).toList();
+    }
+
+    private static EnumMap<Category, List<ProductDto>> copyOf(Map<Category, List<ProductDto>> byCategory) {
+        EnumMap<Category, List<ProductDto>> copy = new EnumMap<>(Category.class);
+        copy.putAll(byCategory);
+        return copy;
+    }
+
+    private static void removeFromCategory(EnumMap<Category, List<ProductDto>> byCategory, ProductDto product) {
+        if (product.getCategory() == null) {
+            return;
+        }
+        List<ProductDto> remaining = byCategory.getOrDefault(product.getCategory(), List.of()).stream()
+                .filter(existing -> !existing.getId().equals(product.getId()))
+                .toList();
+        if (remaining.isEmpty()) {
+            byCategory.remove(product.getCategory());
+        } else {
+            byCategory.put(product.getCategory(), remaining);
+        }
+    }
+
+    private record Snapshot(List<ProductDto> products, Map<Long, ProductDto> byId, Map<Category, List<ProductDto>> byCategory) {
+        static Snapshot of(Map<Long, ProductDto> byId, EnumMap<Category, List<ProductDto>> byCategory) {
+            List<ProductDto> products = new ArrayList<>(byId.values());
+            products.sort(BY_ID);
+            return new Snapshot(List.copyOf(products), Map.copyOf(byId), Collections.unmodifiableMap(byCategory));
+        }
+    }
+}
@@ -1,38 +1,58 @@
 package edu.chylaozgaoldakowski.location_manager.product;
 
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
+import edu.chylaozgaoldakowski.location_manager.page.IPageModelService;
+import edu.chylaozgaoldakowski.location_manager.page.ProductDetailsPage;
 import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/products")
 public class ProductController {
     private final IProductService productService;
+    private final IPageModelService pageModelService;
 
-    public ProductController(@Qualifier("ProductService") ProductService productService) {
+    public ProductController(@Qualifier("ProductService") ProductService productService,
+                             @Qualifier("PageModelService") IPageModelService pageModelService) {
         this.productService = productService;
+        this.pageModelService = pageModelService;
     }
 
     @GetMapping
     public String getProducts(Model model) {
-        List<ProductDto> products = productService.getAllProducts();
-        Map<Category, List<ProductDto>> productsByCategory = products.stream()
-                .collect(Collectors.groupingBy(ProductDto::getCategory));
+        Map<Category, List<ProductDto>> productsByCategory = productService.getProductsByCategory();
 
         model.addAttribute("productsByCategory", productsByCategory);
+        model.addAttribute("products", productsByCategory.values().stream().findFirst().orElse(List.of()));
         return "product/product-list";
     }
 
+    @GetMapping("/category/{category}")
+    public String getProductsInCategory(@PathVariable Category category, Model model) {
+        model.addAttribute("products", productService.getProductsByCategory(category));
+        return "product/product-list :: productTable";
+    }
+
+    @GetMapping("/category/{category}/stock")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @ResponseBody
+    public StockSummaryDto getCategoryStock(@PathVariable Category category,
+                                            @RequestParam(defaultValue = "5") int top) {
+        return productService.getStockSummary(category, top);
+    }
+
     @GetMapping("/new")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public String newProductForm(Model model) {
@@ -48,17 +68,29 @@ public class ProductController {
             model.addAttribute("categories", Category.values());
             return "product/product-form";
         }
-        productService.saveProduct(product);
+        try {
+            productService.saveProduct(product);
+        } catch (DataIntegrityViolationException e) {
+            return rejectDuplicateProductCode(result, model);
+        }
         return "redirect:/products";
     }
 
     @GetMapping("/{id}")
     public String getProduct(Model model, @PathVariable Long id, @AuthenticationPrincipal CustomUserDetails user) {
-        model.addAttribute("product", productService.getProductDetailsById(id));
-        model.addAttribute("entries", productService.getLocalizationsForCurrentUser(id, user));
+        ProductDetailsPage page = pageModelService.getProductDetails(id, user);
+        model.addAttribute("product", page.getProduct());
+        model.addAttribute("entries", page.getLocalizations());
         return "product/product-details";
     }
 
+    @GetMapping("/{id}/stock")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @ResponseBody
+    public StockSummaryDto getProductStock(@PathVariable Long id, @RequestParam(defaultValue = "5") int top) {
+        return productService.getStockSummary(id, top);
+    }
+
     @GetMapping("/edit/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public String editProducts(@PathVariable Long id, Model model) {
@@ -74,14 +106,28 @@ public class ProductController {
             model.addAttribute("categories", Category.values());
             return "product/product-form";
         }
-        productService.updateProduct(id, product);
+        try {
+            productService.updateProduct(id, product);
+        } catch (DataIntegrityViolationException e) {
+            return rejectDuplicateProductCode(result, model);
+        }
         return "redirect:/products";
     }
 
     @PostMapping("/delete/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public String deleteProduct(@PathVariable Long id) {
-        productService.deleteProductById(id);
+    public String deleteProduct(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        DeletionResult result = productService.deleteProductById(id);
+        if (result.isDeleted()) {
+            redirectAttributes.addFlashAttribute("message",
+                    "Product deleted. Its " + result.getEntriesToPurge() + " entries will be purged in the background.");
+        }
         return "redirect:/products";
     }
+
+    private String rejectDuplicateProductCode(BindingResult result, Model model) {
+        result.rejectValue("productCode", "duplicate", "Product code is already in use");
+        model.addAttribute("categories", Category.values());
+        return "product/product-form";
+    }
 }
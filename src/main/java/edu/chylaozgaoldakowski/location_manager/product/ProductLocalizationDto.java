@@ -16,4 +16,9 @@ public class ProductLocalizationDto {
     private ShopDto shop;
     private int amount;
     private BigDecimal totalPrice;
+
+    public ProductLocalizationDto(Long shopId, String shopName, String shopAddress, String shopCity,
+                                  int amount, BigDecimal totalPrice) {
+        this(new ShopDto(shopId, shopName, shopAddress, shopCity), amount, totalPrice);
+    }
 }
@@ -0,0 +1,9 @@
+package edu.chylaozgaoldakowski.location_manager.product;
+
+import java.math.BigDecimal;
+
+public interface ProductPriceView {
+    Long getId();
+    BigDecimal getPrice();
+    Category getCategory();
+}
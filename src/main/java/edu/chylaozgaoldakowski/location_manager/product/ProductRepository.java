@@ -1,7 +1,29 @@
 package edu.chylaozgaoldakowski.location_manager.product;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    // Entry writes hold their products in share mode until commit, so a delete or recategorisation that locks the
+    // product for update waits for them and then counts their entries; once it commits the locked rows are gone.
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select p.id as id, p.price as price, p.category as category from Product p where p.id in :ids order by p.id")
+    List<ProductPriceView> findPricesForShareByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> findForUpdateById(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Product p set p.deleted = true where p.id = :id and p.deleted = false")
+    int deleteProductById(@Param("id") Long id);
 }
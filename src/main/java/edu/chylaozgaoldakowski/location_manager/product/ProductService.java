@@ -1,80 +1,149 @@
 package edu.chylaozgaoldakowski.location_manager.product;
 
 
-import edu.chylaozgaoldakowski.location_manager.entry.EntryMapper;
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
 import edu.chylaozgaoldakowski.location_manager.entry.EntryRepository;
+import edu.chylaozgaoldakowski.location_manager.entry.ShopStockRankView;
+import edu.chylaozgaoldakowski.location_manager.entry.StockTotalsView;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopInventory;
 import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 
 @Service("ProductService")
 public class ProductService implements IProductService {
+    static final int MAX_TOP_SHOPS = 50;
+
     private final ProductRepository productRepository;
     private final EntryRepository entryRepository;
     private final ProductMapper productMapper;
-    private final EntryMapper entryMapper;
+    private final ProductCatalog productCatalog;
+    private final ShopInventory shopInventory;
 
-    public ProductService(ProductRepository productRepository, EntryRepository entryRepository, ProductMapper productMapper, EntryMapper entryMapper) {
+    public ProductService(ProductRepository productRepository, EntryRepository entryRepository, ProductMapper productMapper,
+                          ProductCatalog productCatalog, ShopInventory shopInventory) {
         this.productRepository = productRepository;
         this.entryRepository = entryRepository;
         this.productMapper = productMapper;
-        this.entryMapper = entryMapper;
+        this.productCatalog = productCatalog;
+        this.shopInventory = shopInventory;
     }
 
     public List<ProductDto> getAllProducts() {
-        return productRepository.findAll().stream().map(productMapper::toProductDetailsDto).toList();
+        return productCatalog.getAll();
+    }
+
+    public Map<Category, List<ProductDto>> getProductsByCategory() {
+        return productCatalog.getByCategory();
+    }
+
+    public List<ProductDto> getProductsByCategory(Category category) {
+        return productCatalog.getByCategory(category);
     }
 
     public ProductDto getProductDetailsById(Long id) throws NoSuchElementException {
-        Product product = productRepository.findById(id).orElseThrow();
-        return productMapper.toProductDetailsDto(product);
+        return productCatalog.findById(id).orElseThrow();
     }
 
     @Override
     public List<ProductLocalizationDto> getLocalizationsForCurrentUser(Long id, @AuthenticationPrincipal CustomUserDetails currentUser) {
-        List<ProductLocalizationDto> localizations = entryRepository.findByProduct_Id(id)
-                .stream()
-                .map(entryMapper::toProductLocalizationDto)
-                .toList();
-
         if (currentUser == null) {
             return List.of();
         }
 
         if (currentUser.getAuthorities().stream()
                 .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"))) {
-            return localizations;
+            return entryRepository.findLocalizationsByProductId(id);
         }
 
-        return localizations.stream()
-                .filter(
-                        productLocalizationDto ->
-                                Objects.equals(productLocalizationDto.getShop().getId(), currentUser.getShopId()))
-                .toList();
+        if (currentUser.getShopId() == null) {
+            return List.of();
+        }
+        return entryRepository.findLocalizationsByProductIdAndShopId(id, currentUser.getShopId());
+    }
 
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Transactional(readOnly = true)
+    public StockSummaryDto getStockSummary(Long id, int topShops) throws NoSuchElementException {
+        productCatalog.findById(id).orElseThrow();
+        return toStockSummary(entryRepository.findStockTotalsForProduct(id),
+                entryRepository.findTopShopsForProduct(id, topShopsLimit(topShops)));
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Transactional(readOnly = true)
+    public StockSummaryDto getStockSummary(Category category, int topShops) {
+        return toStockSummary(entryRepository.findStockTotalsForCategory(category),
+                entryRepository.findTopShopsForCategory(category, topShopsLimit(topShops)));
+    }
+
+    private static Limit topShopsLimit(int topShops) {
+        return Limit.of(Math.clamp(topShops, 1, MAX_TOP_SHOPS));
+    }
+
+    private static StockSummaryDto toStockSummary(StockTotalsView totals, List<ShopStockRankView> topShops) {
+        return new StockSummaryDto(totals.getShopCount(), totals.getTotalAmount(), totals.getTotalValue(),
+                topShops.stream()
+                        .map(shop -> new ShopStockDto(shop.getShopId(), shop.getShopName(), shop.getShopCity(),
+                                shop.getTotalAmount(), shop.getTotalValue()))
+                        .toList());
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public void saveProduct(ProductDto productDto) {
         Product productEntity = new Product();
         productMapper.updateEntityFromDto(productEntity, productDto);
-        productRepository.save(productEntity);
+        ProductDto catalogEntry = productMapper.toProductDetailsDto(productRepository.save(productEntity));
+        applyToCatalogAfterCommit(() -> productCatalog.put(catalogEntry));
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public void deleteProductById(Long id) {
-        productRepository.deleteById(id);
+    @Transactional
+    public DeletionResult deleteProductById(Long id) {
+        // Read under the product lock, so entries written concurrently are either counted here or rejected.
+        productRepository.findForUpdateById(id).ifPresent(product ->
+                shopInventory.recordRemoval(entryRepository.findStockByShopForProduct(id), product.getCategory()));
+        long entriesToPurge = entryRepository.countByProduct_Id(id);
+        boolean deleted = productRepository.deleteProductById(id) > 0;
+        applyToCatalogAfterCommit(() -> productCatalog.remove(id));
+        return new DeletionResult(deleted, entriesToPurge);
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Transactional
     public void updateProduct(Long id, ProductDto updatedProduct) {
-        Product existingProduct = productRepository.findById(id).orElseThrow();
+        Product existingProduct = productRepository.findForUpdateById(id).orElseThrow();
+        Category previousCategory = existingProduct.getCategory();
         productMapper.updateEntityFromDto(existingProduct, updatedProduct);
-        productRepository.save(existingProduct);
+        Product savedProduct = productRepository.saveAndFlush(existingProduct);
+        if (previousCategory != savedProduct.getCategory()) {
+            shopInventory.recordRecategorization(entryRepository.findStockByShopForProduct(id), previousCategory,
+                    savedProduct.getCategory());
+        }
+        ProductDto catalogEntry = productMapper.toProductDetailsDto(savedProduct);
+        applyToCatalogAfterCommit(() -> productCatalog.put(catalogEntry));
+    }
+
+    // The catalog is shared by every request, so it must never show a change that a rollback (e.g. a duplicate code) undoes.
+    private void applyToCatalogAfterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
     }
 }
@@ -0,0 +1,20 @@
+package edu.chylaozgaoldakowski.location_manager.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShopStockDto {
+    private Long shopId;
+    private String shopName;
+    private String shopCity;
+    private long totalAmount;
+    private BigDecimal totalValue;
+}
@@ -0,0 +1,20 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryInventoryDto {
+    private Category category;
+    private long entryCount;
+    private long totalAmount;
+    private BigDecimal totalValue;
+}
@@ -1,15 +1,21 @@
 package edu.chylaozgaoldakowski.location_manager.shop;
 
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
 import edu.chylaozgaoldakowski.location_manager.entry.EntryDto;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface IShopService {
     List<ShopDto> getAll();
+    ShopPage getPage(ShopSort sort, Long afterId, String afterName, int size);
     void save(ShopDto shopDto);
     ShopDto getById(Long id);
-    void deleteById(Long id);
+    DeletionResult deleteById(Long id);
     void update(Long id, ShopDto updatedDto);
     List<EntryDto> getEntriesById(Long id);
+    ShopInventoryDto getInventory(Long id);
     ShopData getShopDataById(Long id);
+    void writeShopData(ShopDto shop, OutputStream outputStream) throws IOException;
 }
@@ -1,7 +1,10 @@
 package edu.chylaozgaoldakowski.location_manager.shop;
 
+import edu.chylaozgaoldakowski.location_manager.annotation.PooledSequence;
 import edu.chylaozgaoldakowski.location_manager.entry.Entry;
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,17 +15,24 @@ import java.util.List;
 
 @Table
 @Entity
+@SQLDelete(sql = "update shop set deleted = true where id = ?")
+@SQLRestriction("deleted = false")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Shop {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence
     private Long id;
     private String name;
     private String address;
     private String city;
-    @OneToMany(mappedBy = "shop", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "shop")
     private List<Entry> entries = new ArrayList<>();
+    private boolean deleted;
+
+    public Shop(Long id, String name, String address, String city, List<Entry> entries) {
+        this(id, name, address, city, entries, false);
+    }
 }
@@ -1,5 +1,8 @@
 package edu.chylaozgaoldakowski.location_manager.shop;
 
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
+import edu.chylaozgaoldakowski.location_manager.page.IPageModelService;
+import edu.chylaozgaoldakowski.location_manager.page.ShopDetailsPage;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ContentDisposition;
@@ -11,6 +14,8 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.nio.charset.StandardCharsets;
 
@@ -19,14 +24,23 @@ import java.nio.charset.StandardCharsets;
 public class ShopController {
 
     private final IShopService shopService;
+    private final IPageModelService pageModelService;
 
-    public ShopController(@Qualifier("ShopService") IShopService shopService) {
+    public ShopController(@Qualifier("ShopService") IShopService shopService,
+                          @Qualifier("PageModelService") IPageModelService pageModelService) {
         this.shopService = shopService;
+        this.pageModelService = pageModelService;
     }
 
     @GetMapping
-    public String getShops(Model model) {
-        model.addAttribute("shops", shopService.getAll());
+    public String getShops(@RequestParam(defaultValue = "NAME") ShopSort sort,
+                           @RequestParam(required = false) Long afterId,
+                           @RequestParam(required = false) String afterName,
+                           @RequestParam(defaultValue = "20") int size,
+                           Model model) {
+        ShopPage page = shopService.getPage(sort, afterId, afterName, size);
+        model.addAttribute("shops", page.getShops());
+        model.addAttribute("page", page);
         return "shop/shop-list";
     }
 
@@ -49,8 +63,10 @@ public class ShopController {
 
     @GetMapping("/{id}")
     public String viewShop(@PathVariable Long id, Model model) {
-        model.addAttribute("shop", shopService.getById(id));
-        model.addAttribute("entries", shopService.getEntriesById(id));
+        ShopDetailsPage page = pageModelService.getShopDetails(id);
+        model.addAttribute("shop", page.getShop());
+        model.addAttribute("entries", page.getEntries());
+        model.addAttribute("inventory", page.getInventory());
         return "shop/shop-details";
 
     }
@@ -74,14 +90,18 @@ public class ShopController {
 
     @PostMapping("/delete/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public String deleteShop(@PathVariable Long id) {
-            shopService.deleteById(id);
-            return "redirect:/shops";
+    public String deleteShop(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        DeletionResult result = shopService.deleteById(id);
+        if (result.isDeleted()) {
+            redirectAttributes.addFlashAttribute("message",
+                    "Shop deleted. Its " + result.getEntriesToPurge() + " entries will be purged in the background.");
+        }
+        return "redirect:/shops";
     }
 
     @GetMapping("/{id}/shop-data-download")
-    public ResponseEntity<ShopData> downloadShopData(@PathVariable Long id) {
-        ShopData shopData = shopService.getShopDataById(id);
+    public ResponseEntity<StreamingResponseBody> downloadShopData(@PathVariable Long id) {
+        ShopDto shop = shopService.getById(id);
         String filename = "shop-" + id + ".json";
 
         return ResponseEntity.ok()
@@ -89,6 +109,6 @@ public class ShopController {
                 .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
                         .filename(filename, StandardCharsets.UTF_8)
                         .build().toString())
-                .body(shopData);
+                .body(outputStream -> shopService.writeShopData(shop, outputStream));
     }
 }
\ No newline at end of file
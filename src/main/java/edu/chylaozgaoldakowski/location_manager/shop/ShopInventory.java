@@ -0,0 +1,90 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import edu.chylaozgaoldakowski.location_manager.entry.ShopStockView;
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+public class ShopInventory {
+    static final String UNCATEGORIZED = "UNCATEGORIZED";
+
+    private final ShopInventorySummaryRepository summaryRepository;
+
+    public ShopInventory(ShopInventorySummaryRepository summaryRepository) {
+        this.summaryRepository = summaryRepository;
+    }
+
+    public void record(Long shopId, Category category, long entries, long amount, BigDecimal value) {
+        if (entries == 0 && amount == 0 && value.signum() == 0) {
+            return;
+        }
+        summaryRepository.addDelta(shopId, key(category), entries, amount, value);
+    }
+
+    public void recordRemoval(List<ShopStockView> stock, Category category) {
+        for (ShopStockView shopStock : stock) {
+            record(shopStock.getShopId(), category, -shopStock.getEntryCount(), -shopStock.getTotalAmount(),
+                    shopStock.getTotalValue().negate());
+        }
+    }
+
+    public void recordRecategorization(List<ShopStockView> stock, Category from, Category to) {
+        if (key(from).equals(key(to))) {
+            return;
+        }
+        recordRemoval(stock, from);
+        for (ShopStockView shopStock : stock) {
+            record(shopStock.getShopId(), to, shopStock.getEntryCount(), shopStock.getTotalAmount(), shopStock.getTotalValue());
+        }
+    }
+
+    public void removeShop(Long shopId) {
+        summaryRepository.deleteByShopId(shopId);
+    }
+
+    public ShopInventoryDto getInventory(Long shopId) {
+        List<ShopInventorySummary> rows = summaryRepository.findByIdShopId(shopId);
+        ShopInventoryDto inventory = totals(rows);
+        inventory.setCategories(rows.stream()
+                .filter(row -> row.getEntryCount() > 0)
+                .map(row -> new CategoryInventoryDto(category(row.getId().getCategory()), row.getEntryCount(),
+                        row.getTotalAmount(), row.getTotalValue()))
+                .sorted(Comparator.comparing(CategoryInventoryDto::getCategory, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList());
+        return inventory;
+    }
+
+    public Map<Long, ShopInventoryDto> getTotals(Collection<Long> shopIds) {
+        if (shopIds.isEmpty()) {
+            return Map.of();
+        }
+        return summaryRepository.findByIdShopIdIn(shopIds).stream()
+                .collect(Collectors.groupingBy(row -> row.getId().getShopId(),
+                        Collectors.collectingAndThen(Collectors.toList(), ShopInventory::totals)));
+    }
+
+    private static ShopInventoryDto totals(List<ShopInventorySummary> rows) {
+        ShopInventoryDto inventory = new ShopInventoryDto();
+        for (ShopInventorySummary row : rows) {
+            inventory.setEntryCount(inventory.getEntryCount() + row.getEntryCount());
+            inventory.setTotalAmount(inventory.getTotalAmount() + row.getTotalAmount());
+            inventory.setTotalValue(inventory.getTotalValue().add(row.getTotalValue()));
+        }
+        return inventory;
+    }
+
+    static String key(Category category) {
+        return category == null ? UNCATEGORIZED : category.name();
+    }
+
+    private static Category category(String key) {
+        return UNCATEGORIZED.equals(key) ? null : Category.valueOf(key);
+    }
+}
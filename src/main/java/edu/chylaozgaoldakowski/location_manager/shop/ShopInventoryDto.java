@@ -0,0 +1,20 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShopInventoryDto {
+    private long entryCount;
+    private long totalAmount;
+    private BigDecimal totalValue = BigDecimal.ZERO;
+    private List<CategoryInventoryDto> categories = List.of();
+}
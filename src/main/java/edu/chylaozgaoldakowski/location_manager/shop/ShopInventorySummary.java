@@ -0,0 +1,25 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Table(name = "shop_inventory_summary")
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShopInventorySummary {
+    @EmbeddedId
+    private ShopInventorySummaryId id;
+    private long entryCount;
+    private long totalAmount;
+    private BigDecimal totalValue;
+}
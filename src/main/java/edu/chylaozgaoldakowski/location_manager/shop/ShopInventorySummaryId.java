@@ -0,0 +1,24 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShopInventorySummaryId implements Serializable {
+    @Column(name = "shop_id")
+    private Long shopId;
+    @Column(length = 50)
+    private String category;
+}
@@ -0,0 +1,35 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public interface ShopInventorySummaryRepository extends JpaRepository<ShopInventorySummary, ShopInventorySummaryId> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            insert into ShopInventorySummary (id.shopId, id.category, entryCount, totalAmount, totalValue)
+            values (:shopId, :category, :entries, :amount, :value)
+            on conflict(id) do update set
+                entryCount = entryCount + excluded.entryCount,
+                totalAmount = totalAmount + excluded.totalAmount,
+                totalValue = totalValue + excluded.totalValue""")
+    int addDelta(@Param("shopId") Long shopId,
+                 @Param("category") String category,
+                 @Param("entries") long entries,
+                 @Param("amount") long amount,
+                 @Param("value") BigDecimal value);
+
+    List<ShopInventorySummary> findByIdShopId(Long shopId);
+
+    List<ShopInventorySummary> findByIdShopIdIn(Collection<Long> shopIds);
+
+    @Modifying
+    @Query("delete from ShopInventorySummary s where s.id.shopId = :shopId")
+    void deleteByShopId(@Param("shopId") Long shopId);
+}
@@ -1,6 +1,7 @@
 package edu.chylaozgaoldakowski.location_manager.shop;
 
 import edu.chylaozgaoldakowski.location_manager.entry.Entry;
+import edu.chylaozgaoldakowski.location_manager.entry.EntryExportView;
 import edu.chylaozgaoldakowski.location_manager.product.Product;
 import org.springframework.stereotype.Component;
 
@@ -28,6 +29,20 @@ public class ShopMapper {
                         .toList()).build();
     }
 
+    public ShopData.EntryData toEntryData(EntryExportView view) {
+        return ShopData.EntryData.builder()
+                .amount(view.getAmount())
+                .totalPrice(view.getTotalPrice())
+                .product(ShopData.ProductData.builder()
+                        .name(view.getProductName())
+                        .manufacturer(view.getProductManufacturer())
+                        .category(view.getProductCategory().toString().toLowerCase())
+                        .productCode(view.getProductCode())
+                        .description(view.getProductDescription() != null ? view.getProductDescription() : "")
+                        .build())
+                .build();
+    }
+
     private static ShopData.EntryData toEntryData(Entry e) {
         return ShopData.EntryData.builder()
                 .amount(e.getAmount())
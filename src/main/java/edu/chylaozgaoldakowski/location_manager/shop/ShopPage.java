@@ -0,0 +1,23 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShopPage {
+    private List<ShopDto> shops;
+    private ShopSort sort;
+    private int size;
+    private boolean hasNext;
+    private Long nextAfterId;
+    private String nextAfterName;
+    private Map<Long, ShopInventoryDto> inventory;
+}
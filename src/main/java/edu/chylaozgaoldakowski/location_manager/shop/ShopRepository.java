@@ -1,6 +1,18 @@
 package edu.chylaozgaoldakowski.location_manager.shop;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ShopRepository extends JpaRepository<Shop, Long> {
+    Window<Shop> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Shop s set s.deleted = true where s.id = :id and s.deleted = false")
+    int deleteShopById(@Param("id") Long id);
 }
@@ -1,27 +1,50 @@
 package edu.chylaozgaoldakowski.location_manager.shop;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
 import edu.chylaozgaoldakowski.location_manager.entry.Entry;
 import edu.chylaozgaoldakowski.location_manager.entry.EntryDto;
-import edu.chylaozgaoldakowski.location_manager.entry.EntryMapper;
+import edu.chylaozgaoldakowski.location_manager.entry.EntryExportView;
 import edu.chylaozgaoldakowski.location_manager.entry.EntryRepository;
+import edu.chylaozgaoldakowski.location_manager.user.PrincipalCache;
+import edu.chylaozgaoldakowski.location_manager.user.UserRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service("ShopService")
 public class ShopService implements IShopService {
+    static final int MAX_PAGE_SIZE = 100;
 
     private final ShopRepository shopRepository;
     private final ShopMapper shopMapper;
-    private final EntryMapper entryMapper;
     private final EntryRepository entryRepository;
+    private final ObjectMapper objectMapper;
+    private final ShopInventory shopInventory;
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
-    public ShopService(ShopRepository shopRepository, ShopMapper shopMapper, EntryMapper entryMapper, EntryRepository entryRepository) {
+    public ShopService(ShopRepository shopRepository, ShopMapper shopMapper, EntryRepository entryRepository, ObjectMapper objectMapper,
+                       ShopInventory shopInventory, UserRepository userRepository, PrincipalCache principalCache) {
         this.shopRepository = shopRepository;
         this.shopMapper = shopMapper;
-        this.entryMapper = entryMapper;
         this.entryRepository = entryRepository;
+        this.objectMapper = objectMapper;
+        this.shopInventory = shopInventory;
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -29,6 +52,21 @@ public class ShopService implements IShopService {
         return shopRepository.findAll().stream().map(shopMapper::toDto).toList();
     }
 
+    @Override
+    public ShopPage getPage(ShopSort sort, Long afterId, String afterName, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Window<Shop> window = shopRepository.findBy(sort.positionAfter(afterId, afterName), sort.toSort(), Limit.of(pageSize));
+        List<ShopDto> shops = window.getContent().stream().map(shopMapper::toDto).toList();
+
+        Map<Long, ShopInventoryDto> inventory = shopInventory.getTotals(shops.stream().map(ShopDto::getId).toList());
+
+        if (shops.isEmpty() || !window.hasNext()) {
+            return new ShopPage(shops, sort, pageSize, false, null, null, inventory);
+        }
+        ShopDto last = shops.getLast();
+        return new ShopPage(shops, sort, pageSize, true, last.getId(), last.getName(), inventory);
+    }
+
     @Override
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public void save(ShopDto shopDto) {
@@ -45,8 +83,31 @@ public class ShopService implements IShopService {
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @Override
-    public void deleteById(Long id) {
-        shopRepository.deleteById(id);
+    @Transactional
+    public DeletionResult deleteById(Long id) {
+        shopInventory.removeShop(id);
+        List<String> assignedUsernames = userRepository.findUsernamesByAssignedShopId(id);
+        userRepository.unassignShop(id);
+        evictPrincipalsAfterCommit(assignedUsernames);
+        long entriesToPurge = entryRepository.countByShop_Id(id);
+        return new DeletionResult(shopRepository.deleteShopById(id) > 0, entriesToPurge);
+    }
+
+    // Evicting before commit would let a concurrent login cache the still-assigned shop again.
+    private void evictPrincipalsAfterCommit(List<String> usernames) {
+        if (usernames.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            principalCache.invalidateAll(usernames);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                principalCache.invalidateAll(usernames);
+            }
+        });
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -59,14 +120,41 @@ public class ShopService implements IShopService {
 
     @Override
     public List<EntryDto> getEntriesById(Long id) {
-        return entryRepository.findByShop_Id(id).stream().map(entryMapper::toDto).toList();
+        return entryRepository.findDtosByShopId(id);
+    }
+
+    @Override
+    public ShopInventoryDto getInventory(Long id) {
+        return shopInventory.getInventory(id);
     }
 
     @Override
     public ShopData getShopDataById(Long id) {
         Shop shop = shopRepository.findById(id).orElseThrow();
-        List<Entry> entries = entryRepository.findByShop_Id(id);
+        List<Entry> entries = entryRepository.findWithProductByShopId(id);
 
         return shopMapper.toShopData(shop, entries);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeShopData(ShopDto shop, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+             Stream<EntryExportView> entries = entryRepository.streamExportViewsByShopId(shop.getId())) {
+            generator.writeStartObject();
+            generator.writeStringField("name", shop.getName());
+            generator.writeStringField("address", shop.getAddress());
+            generator.writeStringField("city", shop.getCity());
+            generator.writeArrayFieldStart("entries");
+
+            Iterator<EntryExportView> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(shopMapper.toEntryData(iterator.next()));
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+}
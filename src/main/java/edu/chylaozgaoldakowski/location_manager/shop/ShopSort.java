@@ -0,0 +1,27 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+
+public enum ShopSort {
+    NAME,
+    ID;
+
+    Sort toSort() {
+        return this == NAME ? Sort.by("name", "id") : Sort.by("id");
+    }
+
+    ScrollPosition positionAfter(Long afterId, String afterName) {
+        if (afterId == null) {
+            return ScrollPosition.keyset();
+        }
+        if (this == NAME) {
+            return afterName == null
+                    ? ScrollPosition.keyset()
+                    : ScrollPosition.forward(Map.of("name", afterName, "id", afterId));
+        }
+        return ScrollPosition.forward(Map.of("id", afterId));
+    }
+}
@@ -1,5 +1,6 @@
 package edu.chylaozgaoldakowski.location_manager.user;
 
+import edu.chylaozgaoldakowski.location_manager.annotation.PooledSequence;
 import edu.chylaozgaoldakowski.location_manager.shop.Shop;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -12,17 +13,18 @@ import lombok.Setter;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "app_user_username_key", columnNames = "username"))
 public class AppUser{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
     @Column(nullable = false)
     private String password;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "shop_id")
     private Shop assignedShop;
 
@@ -8,29 +8,33 @@ import java.util.Collection;
 import java.util.List;
 
 public class CustomUserDetails implements UserDetails {
-    private final AppUser user;
+    private final UserCredentials user;
+
+    public CustomUserDetails(UserCredentials user) {
+        this.user = user;
+    }
 
     public CustomUserDetails(AppUser appUser) {
-        this.user = appUser;
+        this(UserCredentials.from(appUser));
     }
 
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()));
+        return List.of(new SimpleGrantedAuthority("ROLE_" + user.role()));
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return user.password();
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return user.username();
     }
 
     public Long getShopId() {
-        return user.getAssignedShop() != null ? user.getAssignedShop().getId() : null;
+        return user.shopId();
     }
 }
@@ -11,15 +11,24 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
     private final ShopRepository shopRepository;
+    private final PrincipalCache principalCache;
+    private final UsernameBloomFilter usernameBloomFilter;
 
-    public CustomUserDetailsService(UserRepository userRepository, ShopRepository shopRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, ShopRepository shopRepository,
+                                    PrincipalCache principalCache, UsernameBloomFilter usernameBloomFilter) {
         this.userRepository = userRepository;
         this.shopRepository = shopRepository;
+        this.principalCache = principalCache;
+        this.usernameBloomFilter = usernameBloomFilter;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        AppUser user = userRepository.findByUsername(username)
+        return principalCache.get(username, this::loadFromDatabase);
+    }
+
+    private CustomUserDetails loadFromDatabase(String username) {
+        UserCredentials user = userRepository.findCredentialsByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         return new CustomUserDetails(user);
     }
@@ -34,5 +43,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         newUser.setAssignedShop(usersShop);
 
         userRepository.save(newUser);
+        usernameBloomFilter.put(newUser.getUsername());
+        principalCache.invalidate(newUser.getUsername());
     }
 }
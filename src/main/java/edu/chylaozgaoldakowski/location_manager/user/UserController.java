@@ -2,6 +2,7 @@ package edu.chylaozgaoldakowski.location_manager.user;
 
 import edu.chylaozgaoldakowski.location_manager.shop.IShopService;
 import jakarta.validation.Valid;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -43,7 +44,16 @@ class UserController {
             return "auth/register";
         }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        userService.register(user);
+        try {
+            userService.register(user);
+        } catch (DataIntegrityViolationException e) {
+            // @UniqueUsername skips the database when the Bloom filter misses, so a username taken since the
+            // filter last saw it (another instance, a concurrent registration) only trips the unique constraint.
+            result.rejectValue("username", "duplicate", "Username already exists");
+            user.setPassword(null);
+            model.addAttribute("shops", shopService.getAll());
+            return "auth/register";
+        }
         return "redirect:/login?registered";
     }
 }
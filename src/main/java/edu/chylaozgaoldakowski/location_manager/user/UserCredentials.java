@@ -0,0 +1,9 @@
+package edu.chylaozgaoldakowski.location_manager.user;
+
+public record UserCredentials(Long id, String username, String password, String role, Long shopId) {
+
+    public static UserCredentials from(AppUser user) {
+        return new UserCredentials(user.getId(), user.getUsername(), user.getPassword(), user.getRole(),
+                user.getAssignedShop() != null ? user.getAssignedShop().getId() : null);
+    }
+}
@@ -1,12 +1,33 @@
 package edu.chylaozgaoldakowski.location_manager.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<AppUser, Long> {
     Optional<AppUser> findByUsername(String username);
+
+    @Query("""
+            select new edu.chylaozgaoldakowski.location_manager.user.UserCredentials(
+                u.id, u.username, u.password, u.role, u.assignedShop.id)
+            from AppUser u
+            where u.username = :username""")
+    Optional<UserCredentials> findCredentialsByUsername(@Param("username") String username);
     boolean existsByUsername(String username);
+
+    @Query("select u.username from AppUser u")
+    List<String> findAllUsernames();
+
+    @Query("select u.username from AppUser u where u.assignedShop.id = :shopId")
+    List<String> findUsernamesByAssignedShopId(@Param("shopId") Long shopId);
+
+    @Modifying
+    @Query("update AppUser u set u.assignedShop = null where u.assignedShop.id = :shopId")
+    int unassignShop(@Param("shopId") Long shopId);
 }
@@ -0,0 +1,126 @@
+package edu.chylaozgaoldakowski.location_manager.user;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+public class UsernameBloomFilter implements MeterBinder {
+    private static final String METRIC_PREFIX = "username.filter";
+
+    private final UserRepository userRepository;
+    private final double falsePositiveProbability;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLongArray bits;
+    private final AtomicLong insertions = new AtomicLong();
+    private final AtomicLong definiteMisses = new AtomicLong();
+    private final AtomicLong possibleHits = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private volatile boolean ready;
+
+    public UsernameBloomFilter(UserRepository userRepository,
+                               @Value("${app.security.username-filter.expected-insertions:100000}") long expectedInsertions,
+                               @Value("${app.security.username-filter.fpp:0.01}") double falsePositiveProbability) {
+        if (expectedInsertions <= 0 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs positive expected insertions and 0 < fpp < 1");
+        }
+        this.userRepository = userRepository;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.bitCount = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2))));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        userRepository.findAllUsernames().forEach(this::put);
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(String username) {
+        long hash = hash(username);
+        long step = mix(hash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash + i * step, bitCount);
+            long mask = 1L << (index & 63);
+            int word = (int) (index >>> 6);
+            long current;
+            while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(String username) {
+        if (!ready) {
+            return true;
+        }
+        long hash = hash(username);
+        long step = mix(hash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash + i * step, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << (index & 63))) == 0) {
+                definiteMisses.incrementAndGet();
+                return false;
+            }
+        }
+        possibleHits.incrementAndGet();
+        return true;
+    }
+
+    public void recordFalsePositive() {
+        falsePositives.incrementAndGet();
+    }
+
+    public double expectedFalsePositiveProbability() {
+        return Math.pow(1 - Math.exp(-hashCount * (double) insertions.get() / bitCount), hashCount);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".fpp.configured", this, filter -> filter.falsePositiveProbability)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".fpp.expected", this, UsernameBloomFilter::expectedFalsePositiveProbability)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".insertions", insertions, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".checks", definiteMisses, AtomicLong::get)
+                .tag("result", "definite_miss")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".checks", possibleHits, AtomicLong::get)
+                .tag("result", "possible_hit")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".false.positives", falsePositives, AtomicLong::get)
+                .register(registry);
+    }
+
+    private static long hash(String username) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : username.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -2,14 +2,17 @@ package edu.chylaozgaoldakowski.location_manager.validation;
 
 import edu.chylaozgaoldakowski.location_manager.annotation.UniqueUsername;
 import edu.chylaozgaoldakowski.location_manager.user.UserRepository;
+import edu.chylaozgaoldakowski.location_manager.user.UsernameBloomFilter;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
 public class UniqueUsernameValidator implements ConstraintValidator<UniqueUsername, String> {
     private final UserRepository userRepository;
+    private final UsernameBloomFilter usernameBloomFilter;
 
-    public UniqueUsernameValidator(UserRepository userRepository) {
+    public UniqueUsernameValidator(UserRepository userRepository, UsernameBloomFilter usernameBloomFilter) {
         this.userRepository = userRepository;
+        this.usernameBloomFilter = usernameBloomFilter;
     }
 
     @Override
@@ -17,6 +20,13 @@ public class UniqueUsernameValidator implements ConstraintValidator<UniqueUserna
         if (username == null || username.isBlank()) {
             return true; // handled by @NotBlank
         }
-        return !userRepository.existsByUsername(username);
+        if (!usernameBloomFilter.mightContain(username)) {
+            return true;
+        }
+        boolean exists = userRepository.existsByUsername(username);
+        if (!exists && usernameBloomFilter.isReady()) {
+            usernameBloomFilter.recordFalsePositive();
+        }
+        return !exists;
     }
 }
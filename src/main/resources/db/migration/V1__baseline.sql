@@ -0,0 +1,32 @@
+create table shop (
+    id bigint generated by default as identity primary key,
+    name varchar(255),
+    address varchar(255),
+    city varchar(255)
+);
+
+create table product (
+    id bigint generated by default as identity primary key,
+    name varchar(255),
+    manufacturer varchar(255),
+    category varchar(255),
+    product_code varchar(255),
+    description varchar(255),
+    price numeric(38, 2)
+);
+
+create table entry (
+    id bigint generated by default as identity primary key,
+    shop_id bigint references shop (id),
+    product_id bigint references product (id),
+    amount integer not null,
+    total_price numeric(38, 2)
+);
+
+create table app_user (
+    id bigint generated by default as identity primary key,
+    username varchar(255) not null unique,
+    password varchar(255) not null,
+    shop_id bigint references shop (id),
+    role varchar(255)
+);
@@ -0,0 +1,18 @@
+-- The pooled optimizer treats each value returned by the sequence as the upper bound of a block of
+-- ${allocation_size} ids, so every sequence is positioned one full block above the current max(id).
+
+create sequence shop_seq start with 1 increment by ${allocation_size};
+select setval('shop_seq', (select coalesce(max(id), 0) from shop) + ${allocation_size}, false);
+alter table shop alter column id drop identity if exists;
+
+create sequence product_seq start with 1 increment by ${allocation_size};
+select setval('product_seq', (select coalesce(max(id), 0) from product) + ${allocation_size}, false);
+alter table product alter column id drop identity if exists;
+
+create sequence entry_seq start with 1 increment by ${allocation_size};
+select setval('entry_seq', (select coalesce(max(id), 0) from entry) + ${allocation_size}, false);
+alter table entry alter column id drop identity if exists;
+
+create sequence app_user_seq start with 1 increment by ${allocation_size};
+select setval('app_user_seq', (select coalesce(max(id), 0) from app_user) + ${allocation_size}, false);
+alter table app_user alter column id drop identity if exists;
@@ -0,0 +1,15 @@
+create table shop_inventory_summary (
+    shop_id bigint not null references shop (id) on delete cascade,
+    category varchar(50) not null,
+    entry_count bigint not null,
+    total_amount bigint not null,
+    total_value numeric(38, 2) not null,
+    primary key (shop_id, category)
+);
+
+insert into shop_inventory_summary (shop_id, category, entry_count, total_amount, total_value)
+select e.shop_id, coalesce(p.category, 'UNCATEGORIZED'), count(*), coalesce(sum(e.amount), 0), coalesce(sum(e.total_price), 0)
+from entry e
+join product p on p.id = e.product_id
+where e.shop_id is not null
+group by e.shop_id, coalesce(p.category, 'UNCATEGORIZED');
@@ -0,0 +1,14 @@
+-- Product codes were not unique before this migration. The lowest id keeps its code, and every later
+-- duplicate gets '-DUP-<id>' appended so the constraint can be added and the clashes are easy to find and fix.
+update product p
+set product_code = p.product_code || '-DUP-' || p.id
+from (select id, row_number() over (partition by product_code order by id) as position
+      from product
+      where product_code is not null) d
+where p.id = d.id
+  and d.position > 1;
+
+create index idx_entry_shop_id on entry (shop_id);
+create index idx_entry_product_id_shop_id on entry (product_id, shop_id);
+create index idx_product_category_name on product (category, name);
+alter table product add constraint uk_product_product_code unique (product_code);
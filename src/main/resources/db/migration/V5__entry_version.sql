@@ -0,0 +1 @@
+alter table entry add column version bigint not null default 0;
@@ -0,0 +1,2 @@
+alter table shop add column deleted boolean not null default false;
+alter table product add column deleted boolean not null default false;
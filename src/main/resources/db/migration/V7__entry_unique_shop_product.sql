@@ -0,0 +1,33 @@
+-- Merge duplicate (shop, product) lines into the lowest id, repriced at the current product price.
+update entry e
+set amount = d.amount,
+    total_price = d.amount * p.price,
+    version = e.version + 1
+from (select min(id) as id, sum(amount) as amount
+      from entry
+      group by shop_id, product_id
+      having count(*) > 1) d,
+     product p
+where e.id = d.id
+  and p.id = e.product_id;
+
+delete from entry e
+using (select shop_id, product_id, min(id) as id
+       from entry
+       group by shop_id, product_id
+       having count(*) > 1) d
+where e.shop_id = d.shop_id
+  and e.product_id = d.product_id
+  and e.id <> d.id;
+
+delete from shop_inventory_summary;
+
+insert into shop_inventory_summary (shop_id, category, entry_count, total_amount, total_value)
+select e.shop_id, coalesce(p.category, 'UNCATEGORIZED'), count(*), coalesce(sum(e.amount), 0), coalesce(sum(e.total_price), 0)
+from entry e
+join shop s on s.id = e.shop_id and s.deleted = false
+join product p on p.id = e.product_id and p.deleted = false
+group by e.shop_id, coalesce(p.category, 'UNCATEGORIZED');
+
+drop index idx_entry_shop_id;
+alter table entry add constraint uk_entry_shop_id_product_id unique (shop_id, product_id);
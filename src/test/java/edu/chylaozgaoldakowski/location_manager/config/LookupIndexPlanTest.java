@@ -0,0 +1,160 @@
+package edu.chylaozgaoldakowski.location_manager.config;
+
+import edu.chylaozgaoldakowski.location_manager.entry.Entry;
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import edu.chylaozgaoldakowski.location_manager.user.AppUser;
+import jakarta.persistence.PersistenceException;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Import(PostgresTestConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Lookup Index Query Plan Tests")
+class LookupIndexPlanTest {
+    // "Index Scan using <index>", "Index Only Scan using <index>" or "Bitmap Index Scan on <index>"
+    private static final String INDEX_SCAN = "(?:Scan using|Bitmap Index Scan on) ";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        Category[] categories = Category.values();
+        for (int i = 0; i < 20; i++) {
+            Shop shop = entityManager.persist(new Shop(null, "Shop " + i, i + " Test St", "Test City", null));
+            Product product = entityManager.persist(new Product(null, "Product " + i, "Test Manufacturer",
+                    categories[i % categories.length], "CODE-" + i, null, new BigDecimal("1.00"), null));
+            entityManager.persist(new Entry(null, shop, product, 1, new BigDecimal("1.00")));
+            entityManager.persist(new AppUser(null, "user" + i, "password", shop, "USER"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // A handful of rows fits in one page, where a sequential scan is always cheapest; this asks which index
+        // the planner would pick once the table is large enough to need one.
+        jdbcTemplate.execute("set local enable_seqscan = off");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "entries by shop | select e.id from entry e where e.shop_id = 1 | uk_entry_shop_id_product_id",
+            "entries by product | select e.id from entry e where e.product_id = 1 | idx_entry_product_id_shop_id",
+            "category page | select p.id from product p where p.category = 'BEVERAGES' order by p.name | idx_product_category_name",
+            "product by code | select p.id from product p where p.product_code = 'CODE-1' | uk_product_product_code",
+            "user by username | select u.id from app_user u where u.username = 'user1' | app_user_username_key"
+    })
+    @DisplayName("lookup queries should be planned against their index")
+    void testQueryPlanUsesIndex(String lookup, String sql, String index) {
+        // Act
+        String plan = explain(sql);
+
+        // Assert
+        assertThat(plan).containsPattern(INDEX_SCAN + index + "\\b").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("localization for shop should be planned against either composite entry index")
+    void testLocalizationForShopUsesCompositeIndex() {
+        // Act
+        String plan = explain("select e.id from entry e where e.product_id = 1 and e.shop_id = 1");
+
+        // Assert
+        // Both composite indexes cover the lookup, so the planner may pick either one
+        assertThat(plan).containsPattern(INDEX_SCAN + "(uk_entry_shop_id_product_id|idx_entry_product_id_shop_id)\\b")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("product codes should be unique")
+    void testProductCodeUnique() {
+        // Arrange
+        entityManager.persist(new Product(null, "Duplicate", "Test Manufacturer", Category.BEVERAGES, "CODE-1",
+                null, new BigDecimal("1.00"), null));
+
+        // Act & Assert
+        assertThatThrownBy(() -> entityManager.flush()).isInstanceOf(PersistenceException.class);
+    }
+
+    @Test
+    @DisplayName("a shop should hold one entry line per product")
+    void testEntryShopProductUnique() {
+        // Arrange
+        Entry existing = (Entry) entityManager.getEntityManager()
+                .createQuery("select e from Entry e order by e.id").setMaxResults(1).getSingleResult();
+        entityManager.persist(new Entry(null, existing.getShop(), existing.getProduct(), 1, new BigDecimal("1.00")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> entityManager.flush()).isInstanceOf(PersistenceException.class);
+    }
+
+    @Test
+    @DisplayName("the product code constraint migration should rename existing duplicate codes instead of failing")
+    void testLookupIndexMigrationRenamesDuplicateCodes() throws SQLException {
+        // Arrange
+        String schema = "lookup_index_migration";
+        // Its own auto-committed connection: Flyway migrates outside the test transaction and must see these rows.
+        try (Connection connection = dataSource.getConnection()) {
+            JdbcTemplate migrated = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            try {
+                migrate(schema, "3");
+                migrated.update("insert into " + schema + ".product (id, name, product_code) values "
+                        + "(1, 'Milk', 'MILK-001'), (2, 'Milk 2L', 'MILK-001'), (3, 'Bread', 'BREAD-001'), (4, 'Milk 1L', 'MILK-001')");
+
+                // Act
+                migrate(schema, "4");
+
+                // Assert
+                assertThat(migrated.queryForList("select product_code from " + schema + ".product order by id", String.class))
+                        .containsExactly("MILK-001", "MILK-001-DUP-2", "BREAD-001", "MILK-001-DUP-4");
+            } finally {
+                migrated.execute("drop schema if exists " + schema + " cascade");
+            }
+        }
+    }
+
+    private void migrate(String schema, String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(schema)
+                .placeholders(Map.of("allocation_size", "50"))
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+    }
+}
@@ -0,0 +1,88 @@
+package edu.chylaozgaoldakowski.location_manager.config;
+
+import edu.chylaozgaoldakowski.location_manager.annotation.RetryOnOptimisticLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OptimisticLockRetryAspect Unit Tests")
+class OptimisticLockRetryAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private ConflictingService target;
+    private ConflictingService proxy;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        target = new ConflictingService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new OptimisticLockRetryAspect(registry));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("should retry optimistic lock failures until an attempt succeeds")
+    void testRetriesUntilSuccess() {
+        // Arrange
+        target.conflicts = 2;
+
+        // Act
+        String result = proxy.update();
+
+        // Assert
+        assertThat(result).isEqualTo("updated");
+        assertThat(target.calls).isEqualTo(3);
+        assertThat(registry.get(OptimisticLockRetryAspect.RETRIES_METRIC)
+                .tags("method", "ConflictingService.update")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should give up and rethrow once attempts are exhausted")
+    void testGivesUpAfterMaxAttempts() {
+        // Arrange
+        target.conflicts = 5;
+
+        // Act & Assert
+        assertThatThrownBy(() -> proxy.update()).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(target.calls).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should not retry other exceptions")
+    void testDoesNotRetryOtherExceptions() {
+        // Act & Assert
+        assertThatThrownBy(() -> proxy.missing()).isInstanceOf(NoSuchElementException.class);
+        assertThat(target.calls).isEqualTo(1);
+    }
+
+    static class ConflictingService {
+        int conflicts;
+        int calls;
+
+        @RetryOnOptimisticLock(maxAttempts = 3, backoffMillis = 0)
+        public String update() {
+            calls++;
+            if (calls <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+            }
+            return "updated";
+        }
+
+        @RetryOnOptimisticLock(backoffMillis = 0)
+        public String missing() {
+            calls++;
+            throw new NoSuchElementException();
+        }
+    }
+}
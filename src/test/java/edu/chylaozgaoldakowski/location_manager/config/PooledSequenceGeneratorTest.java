@@ -0,0 +1,60 @@
+package edu.chylaozgaoldakowski.location_manager.config;
+
+import edu.chylaozgaoldakowski.location_manager.entry.Entry;
+import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import edu.chylaozgaoldakowski.location_manager.user.AppUser;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.app.id.allocation-size=5")
+@DisplayName("PooledSequenceGenerator Tests")
+class PooledSequenceGeneratorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(classes = {Shop.class, Product.class, Entry.class, AppUser.class})
+    @DisplayName("every entity should use a pooled optimizer with the configured allocation size")
+    void testGeneratorConfiguration(Class<?> entityClass) {
+        // Act
+        PooledSequenceGenerator generator = (PooledSequenceGenerator) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(entityClass).getGenerator();
+
+        // Assert
+        assertThat(generator.getOptimizer()).isInstanceOf(PooledOptimizer.class);
+        assertThat(generator.getOptimizer().getIncrementSize()).isEqualTo(5);
+    }
+
+    @ParameterizedTest(name = "{0} shops")
+    @ValueSource(ints = {1, 5, 12})
+    @DisplayName("persist should hand out unique ids across allocation blocks")
+    void testIdsAreUniqueAcrossBlocks(int shopCount) {
+        // Act
+        List<Long> ids = IntStream.range(0, shopCount)
+                .mapToObj(i -> entityManager.persist(new Shop(null, "Shop " + i, "Address", "City", null)).getId())
+                .toList();
+        entityManager.flush();
+
+        // Assert
+        assertThat(ids).doesNotHaveDuplicates().doesNotContainNull();
+        assertThat(ids).isSorted();
+    }
+}
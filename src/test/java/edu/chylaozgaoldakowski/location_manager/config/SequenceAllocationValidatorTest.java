@@ -0,0 +1,49 @@
+package edu.chylaozgaoldakowski.location_manager.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Import(PostgresTestConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("SequenceAllocationValidator Tests")
+class SequenceAllocationValidatorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("should accept an allocation size equal to the migrated sequence increments")
+    void testMatchingAllocationSize() {
+        // Arrange
+        SequenceAllocationValidator validator = new SequenceAllocationValidator(jdbcTemplate, 50);
+
+        // Act & Assert
+        assertThatCode(validator::afterPropertiesSet).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("should refuse to start when the allocation size no longer matches the sequence increments")
+    void testChangedAllocationSize() {
+        // Arrange
+        SequenceAllocationValidator validator = new SequenceAllocationValidator(jdbcTemplate, 100);
+
+        // Act & Assert
+        assertThatThrownBy(validator::afterPropertiesSet)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.id.allocation-size is 100")
+                .hasMessageContaining("entry_seq=50");
+    }
+}
@@ -0,0 +1,73 @@
+package edu.chylaozgaoldakowski.location_manager.config;
+
+import edu.chylaozgaoldakowski.location_manager.entry.EntryDto;
+import edu.chylaozgaoldakowski.location_manager.shop.IShopService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Collections;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ServiceMetricsAspect Unit Tests")
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private IShopService shopService;
+
+    private SimpleMeterRegistry registry;
+    private IShopService proxy;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(shopService);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("should time calls and record returned rows in a size bucket")
+    void testSuccessfulCall() {
+        // Arrange
+        when(shopService.getEntriesById(1L)).thenReturn(Collections.nCopies(42, new EntryDto()));
+
+        // Act
+        proxy.getEntriesById(1L);
+
+        // Assert
+        assertThat(registry.get(ServiceMetricsAspect.CALLS_METRIC)
+                .tags("service", "IShopService", "method", "getEntriesById", "outcome", "success", "rows", "11-100")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get(ServiceMetricsAspect.ROWS_METRIC)
+                .tags("service", "IShopService", "method", "getEntriesById")
+                .summary().totalAmount()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("should count errors by exception type and rethrow")
+    void testFailedCall() {
+        // Arrange
+        when(shopService.getById(99L)).thenThrow(new NoSuchElementException());
+
+        // Act & Assert
+        assertThatThrownBy(() -> proxy.getById(99L)).isInstanceOf(NoSuchElementException.class);
+        assertThat(registry.get(ServiceMetricsAspect.ERRORS_METRIC)
+                .tags("service", "IShopService", "method", "getById", "exception", "NoSuchElementException")
+                .counter().count()).isEqualTo(1);
+        assertThat(registry.get(ServiceMetricsAspect.CALLS_METRIC)
+                .tags("outcome", "error", "rows", ServiceMetricsAspect.NO_ROWS)
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.find(ServiceMetricsAspect.ROWS_METRIC).summary()).isNull();
+    }
+}
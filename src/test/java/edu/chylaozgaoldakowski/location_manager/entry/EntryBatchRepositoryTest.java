@@ -0,0 +1,163 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import edu.chylaozgaoldakowski.location_manager.config.PostgresTestConfiguration;
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "app.entry-import.batch-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Import({PostgresTestConfiguration.class, EntryBatchRepository.class})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("EntryBatchRepository Upsert Tests")
+class EntryBatchRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntryBatchRepository entryBatchRepository;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("upsertAll should insert every row across several statements and report them as created")
+    void testUpsertAllInserts() {
+        // Arrange
+        Shop shop = entityManager.persist(new Shop(null, "Test Shop", "1 Test St", "Test City", null));
+        List<EntryImportRow> rows = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> new EntryImportRow(persistProduct("CODE-" + i).getId(), i,
+                        new BigDecimal("5.00").multiply(BigDecimal.valueOf(i))))
+                .toList();
+        entityManager.flush();
+
+        // Act
+        List<UpsertedLine> result = entryBatchRepository.upsertAll(shop.getId(), rows);
+
+        // Assert
+        assertThat(result).hasSize(5).allMatch(UpsertedLine::created);
+        List<EntryDto> entries = entryRepository.findDtosByShopId(shop.getId());
+        assertThat(entries).extracting(EntryDto::getAmount).containsExactly(1, 2, 3, 4, 5);
+        assertThat(entries.getLast().getTotalPrice()).isEqualByComparingTo("25.00");
+        assertThat(entries).allMatch(entry -> entry.getVersion() == 0);
+    }
+
+    @Test
+    @DisplayName("upsertAll should add to an existing line, reprice it and report its new total")
+    void testUpsertAllMergesExistingLine() {
+        // Arrange
+        Shop shop = entityManager.persist(new Shop(null, "Test Shop", "1 Test St", "Test City", null));
+        Product product = persistProduct("MILK-001");
+        entityManager.persist(new Entry(null, shop, product, 2, new BigDecimal("8.00")));
+        entityManager.flush();
+
+        // Act
+        Map<Long, BigDecimal> previousTotals = entryBatchRepository.lockLines(shop.getId(), List.of(product.getId(), -1L));
+        List<UpsertedLine> result = entryBatchRepository.upsertAll(shop.getId(),
+                List.of(new EntryImportRow(product.getId(), 3, new BigDecimal("15.00"))));
+
+        // Assert
+        assertThat(previousTotals).containsOnlyKeys(product.getId());
+        assertThat(previousTotals.get(product.getId())).isEqualByComparingTo("8.00");
+        assertThat(result).singleElement().satisfies(line -> {
+            assertThat(line.created()).isFalse();
+            assertThat(line.totalPrice()).isEqualByComparingTo("25.00");
+        });
+        List<EntryDto> entries = entryRepository.findDtosByShopId(shop.getId());
+        assertThat(entries).hasSize(1);
+        assertThat(entries.getFirst().getAmount()).isEqualTo(5);
+        assertThat(entries.getFirst().getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("upsertAll should report an update for a line committed by another transaction after the lock")
+    void testUpsertAllLineCreatedAfterLock() {
+        // Arrange
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Long[] ids = concurrent.execute(status -> new Long[]{
+                entityManager.persist(new Shop(null, "Race Shop", "1 Test St", "Test City", null)).getId(),
+                persistProduct("RACE-001").getId()});
+        Long shopId = ids[0];
+        Long productId = ids[1];
+
+        Map<Long, BigDecimal> previousTotals = entryBatchRepository.lockLines(shopId, List.of(productId));
+        concurrent.executeWithoutResult(status -> entityManager.persist(new Entry(null,
+                entityManager.find(Shop.class, shopId), entityManager.find(Product.class, productId), 1, new BigDecimal("5.00"))));
+
+        // Act
+        List<UpsertedLine> result = entryBatchRepository.upsertAll(shopId,
+                List.of(new EntryImportRow(productId, 3, new BigDecimal("15.00"))));
+
+        // Assert
+        assertThat(previousTotals).isEmpty();
+        assertThat(result).singleElement().satisfies(line -> {
+            assertThat(line.created()).isFalse();
+            assertThat(line.totalPrice()).isEqualByComparingTo("20.00");
+        });
+    }
+
+    @Test
+    @DisplayName("upsertAll should draw whole id blocks from the pooled sequence Hibernate uses")
+    void testUpsertAllSharesIdSequenceWithHibernate() {
+        // Arrange
+        Shop shop = entityManager.persist(new Shop(null, "Test Shop", "1 Test St", "Test City", null));
+        Entry before = entityManager.persist(new Entry(null, shop, persistProduct("CODE-1"), 1, new BigDecimal("5.00")));
+        Long productId = persistProduct("CODE-2").getId();
+        Product lastProduct = persistProduct("CODE-3");
+        entityManager.flush();
+
+        // Act
+        entryBatchRepository.upsertAll(shop.getId(), List.of(new EntryImportRow(productId, 2, new BigDecimal("10.00"))));
+        Entry after = entityManager.persistFlushFind(new Entry(null, shop, lastProduct, 3, new BigDecimal("15.00")));
+
+        // Assert
+        List<EntryDto> entries = entryRepository.findDtosByShopId(shop.getId());
+        assertThat(entries).extracting(EntryDto::getId).doesNotHaveDuplicates().hasSize(3);
+        assertThat(after.getId()).isEqualTo(before.getId() + 1);
+        Long upsertedId = entries.stream().filter(entry -> entry.getProductId().equals(productId)).findFirst().orElseThrow().getId();
+        assertThat(upsertedId).isGreaterThan(after.getId());
+        assertThat((upsertedId - 1) % 50).as("first id of a fresh block").isZero();
+    }
+
+    @AfterTransaction
+    void deleteCommittedRaceRows() {
+        jdbcTemplate.update("delete from entry where product_id in (select id from product where product_code = 'RACE-001')");
+        jdbcTemplate.update("delete from product where product_code = 'RACE-001'");
+        jdbcTemplate.update("delete from shop where name = 'Race Shop'");
+    }
+
+    private Product persistProduct(String productCode) {
+        return entityManager.persist(new Product(null, "Milk " + productCode, "Dairy Co", Category.DAIRY_PRODUCTS,
+                productCode, null, new BigDecimal("5.00"), null));
+    }
+}
@@ -0,0 +1,112 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import edu.chylaozgaoldakowski.location_manager.config.SecurityConfig;
+import edu.chylaozgaoldakowski.location_manager.product.IProductService;
+import edu.chylaozgaoldakowski.location_manager.product.ProductDto;
+import edu.chylaozgaoldakowski.location_manager.shop.IShopService;
+import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopDto;
+import edu.chylaozgaoldakowski.location_manager.user.AppUser;
+import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EntryController.class)
+@Import(SecurityConfig.class)
+@DisplayName("EntryController Integration Tests")
+class EntryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean(name = "ProductService")
+    private IProductService productService;
+
+    @MockBean(name = "EntryService")
+    private IEntryService entryService;
+
+    @MockBean(name = "ShopService")
+    private IShopService shopService;
+
+    @MockBean
+    private EntryImportParser entryImportParser;
+
+    private CustomUserDetails testUserDetails;
+
+    @BeforeEach
+    void setUp() {
+        Shop shop = new Shop(1L, "Test Shop", "123 Test St", "Test City", null);
+        AppUser testUser = new AppUser();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        testUser.setPassword("password");
+        testUser.setRole("USER");
+        testUser.setAssignedShop(shop);
+        testUserDetails = new CustomUserDetails(testUser);
+
+        ProductDto product = new ProductDto();
+        product.setId(2L);
+        product.setName("Cheese");
+        product.setPrice(new BigDecimal("8.00"));
+        when(productService.getAllProducts()).thenReturn(List.of(product));
+        when(shopService.getById(1L)).thenReturn(new ShopDto(1L, "Test Shop", "123 Test St", "Test City"));
+    }
+
+    @Test
+    @DisplayName("POST /entries/update/{id} - should redirect to the shop after a successful update")
+    void testUpdateEntry() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/entries/update/5")
+                        .with(csrf())
+                        .with(user(testUserDetails))
+                        .param("shopId", "1")
+                        .param("productId", "2")
+                        .param("amount", "3")
+                        .param("version", "0"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/shops/1"));
+
+        verify(entryService).update(eq(5L), any(EntryDto.class), eq(testUserDetails));
+    }
+
+    @Test
+    @DisplayName("POST /entries/update/{id} - should return form with error when the shop already lists the product")
+    void testUpdateEntryDuplicateProduct() throws Exception {
+        // Arrange
+        doThrow(new DataIntegrityViolationException("uk_entry_shop_id_product_id"))
+                .when(entryService).update(eq(5L), any(EntryDto.class), eq(testUserDetails));
+
+        // Act & Assert
+        mockMvc.perform(post("/entries/update/5")
+                        .with(csrf())
+                        .with(user(testUserDetails))
+                        .param("shopId", "1")
+                        .param("productId", "2")
+                        .param("amount", "3")
+                        .param("version", "0"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("entry/entry-form"))
+                .andExpect(model().attributeExists("products", "shop"))
+                .andExpect(model().attributeHasFieldErrorCode("entry", "productId", "duplicate"))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString(
+                        "This shop already has an entry for that product")));
+    }
+}
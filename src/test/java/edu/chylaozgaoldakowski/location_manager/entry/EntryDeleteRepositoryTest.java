@@ -0,0 +1,89 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import edu.chylaozgaoldakowski.location_manager.config.PostgresTestConfiguration;
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Import({PostgresTestConfiguration.class, EntryDeleteRepository.class})
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("EntryDeleteRepository Single Statement Delete Tests")
+class EntryDeleteRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntryDeleteRepository entryDeleteRepository;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    private Shop shop;
+    private Entry entry;
+
+    @BeforeEach
+    void setUp() {
+        shop = entityManager.persist(new Shop(null, "Test Shop", "1 Test St", "Test City", null));
+        Product product = entityManager.persist(new Product(null, "Milk", "Dairy Co", Category.DAIRY_PRODUCTS,
+                "MILK-001", null, new BigDecimal("5.00"), null));
+        entry = entityManager.persist(new Entry(null, shop, product, 3, new BigDecimal("15.00")));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("deleteOwned should delete the entry and return its stock in one statement")
+    void testDeleteOwned() {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // Act
+        Optional<DeletedEntry> result = entryDeleteRepository.deleteOwned(entry.getId(), shop.getId());
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().category()).isEqualTo(Category.DAIRY_PRODUCTS);
+        assertThat(result.get().amount()).isEqualTo(3);
+        assertThat(result.get().totalPrice()).isEqualByComparingTo("15.00");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(entryRepository.existsById(entry.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("deleteOwned should leave an entry of another shop untouched")
+    void testDeleteOwnedOtherShop() {
+        // Act
+        Optional<DeletedEntry> result = entryDeleteRepository.deleteOwned(entry.getId(), shop.getId() + 1);
+
+        // Assert
+        assertThat(result).isEmpty();
+        assertThat(entryRepository.existsById(entry.getId())).isTrue();
+    }
+}
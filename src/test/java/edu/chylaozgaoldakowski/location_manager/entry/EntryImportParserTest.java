@@ -0,0 +1,87 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EntryImportParser Unit Tests")
+class EntryImportParserTest {
+
+    private EntryImportParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new EntryImportParser(new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Should parse CSV lines and skip header and blank lines")
+    void testParseCsv() throws IOException {
+        // Arrange
+        String body = "productId,amount\n1,10\n\n 2 , 3 \n";
+
+        // Act
+        List<EntryImportRow> rows = parser.parse(new StringReader(body), EntryImportFormat.CSV);
+
+        // Assert
+        assertThat(rows).extracting(EntryImportRow::getProductId).containsExactly(1L, 2L);
+        assertThat(rows).extracting(EntryImportRow::getAmount).containsExactly(10, 3);
+    }
+
+    @Test
+    @DisplayName("Should parse CSV without header")
+    void testParseCsvWithoutHeader() throws IOException {
+        // Act
+        List<EntryImportRow> rows = parser.parse(new StringReader("5,1"), EntryImportFormat.CSV);
+
+        // Assert
+        assertThat(rows).hasSize(1);
+        assertThat(rows.getFirst().getProductId()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Should parse JSON lines")
+    void testParseNdjson() throws IOException {
+        // Arrange
+        String body = "{\"productId\": 1, \"amount\": 10}\n{\"productId\": 2, \"amount\": 3}\n";
+
+        // Act
+        List<EntryImportRow> rows = parser.parse(new StringReader(body), EntryImportFormat.NDJSON);
+
+        // Assert
+        assertThat(rows).extracting(EntryImportRow::getProductId).containsExactly(1L, 2L);
+        assertThat(rows).extracting(EntryImportRow::getAmount).containsExactly(10, 3);
+    }
+
+    @Test
+    @DisplayName("Should report line number of malformed CSV")
+    void testParseCsvMalformed() {
+        assertThatThrownBy(() -> parser.parse(new StringReader("1,2\nabc,2"), EntryImportFormat.CSV))
+                .isInstanceOf(EntryImportException.class)
+                .hasMessageStartingWith("Line 2");
+    }
+
+    @Test
+    @DisplayName("Should reject JSON line without amount")
+    void testParseNdjsonMissingField() {
+        assertThatThrownBy(() -> parser.parse(new StringReader("{\"productId\": 1}"), EntryImportFormat.NDJSON))
+                .isInstanceOf(EntryImportException.class)
+                .hasMessageStartingWith("Line 1");
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive amounts")
+    void testParseNonPositiveAmount() {
+        assertThatThrownBy(() -> parser.parse(new StringReader("1,0"), EntryImportFormat.CSV))
+                .isInstanceOf(EntryImportException.class)
+                .hasMessageContaining("positive");
+    }
+}
@@ -0,0 +1,242 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.product.ProductLocalizationDto;
+import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("EntryRepository Query Tests")
+class EntryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    private Statistics statistics;
+    private Product product;
+    private Shop firstShop;
+    private Shop secondShop;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        firstShop = entityManager.persist(new Shop(null, "Alpha Shop", "1 Test St", "Test City", null));
+        secondShop = entityManager.persist(new Shop(null, "Bravo Shop", "2 Test St", "Other City", null));
+        product = entityManager.persist(new Product(null, "Milk", "Dairy Co", Category.DAIRY_PRODUCTS,
+                "MILK-001", null, new BigDecimal("5.00"), null));
+        entityManager.persist(new Entry(null, firstShop, product, 2, new BigDecimal("10.00")));
+        entityManager.persist(new Entry(null, secondShop, product, 3, new BigDecimal("15.00")));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("findLocalizationsByProductId should project every shop in one statement")
+    void testFindLocalizationsByProductId() {
+        // Act
+        List<ProductLocalizationDto> result = entryRepository.findLocalizationsByProductId(product.getId());
+
+        // Assert
+        assertThat(result).extracting(localization -> localization.getShop().getName())
+                .containsExactly("Alpha Shop", "Bravo Shop");
+        assertThat(result.getLast().getShop().getCity()).isEqualTo("Other City");
+        assertThat(result.getLast().getAmount()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findLocalizationsByProductIdAndShopId should return only the given shop")
+    void testFindLocalizationsByProductIdAndShopId() {
+        // Act
+        List<ProductLocalizationDto> result =
+                entryRepository.findLocalizationsByProductIdAndShopId(product.getId(), secondShop.getId());
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(result.getFirst().getShop().getId()).isEqualTo(secondShop.getId());
+        assertThat(result.getFirst().getTotalPrice()).isEqualByComparingTo("15.00");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findDtoById should project the entry in one statement without loading entities")
+    void testFindDtoById() {
+        // Arrange
+        Long entryId = entryRepository.findByShop_Id(secondShop.getId()).getFirst().getId();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        EntryDto result = entryRepository.findDtoById(entryId).orElseThrow();
+
+        // Assert
+        assertThat(result.getShopId()).isEqualTo(secondShop.getId());
+        assertThat(result.getProductName()).isEqualTo("Milk");
+        assertThat(result.getAmount()).isEqualTo(3);
+        assertThat(result.getVersion()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findById should load the entry alone and leave shop and product as proxies")
+    void testFindByIdLeavesAssociationsLazy() {
+        // Arrange
+        Long entryId = entryRepository.findByShop_Id(firstShop.getId()).getFirst().getId();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        Entry entry = entryRepository.findById(entryId).orElseThrow();
+
+        // Assert
+        assertThat(Hibernate.isInitialized(entry.getShop())).isFalse();
+        assertThat(Hibernate.isInitialized(entry.getProduct())).isFalse();
+        assertThat(entry.getShop().getId()).isEqualTo(firstShop.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findStockTotalsForProduct should aggregate in one statement without loading entries")
+    void testFindStockTotalsForProduct() {
+        // Arrange
+        persistMoreDairyStock();
+
+        // Act
+        StockTotalsView totals = entryRepository.findStockTotalsForProduct(product.getId());
+
+        // Assert
+        assertThat(totals.getShopCount()).isEqualTo(2);
+        assertThat(totals.getTotalAmount()).isEqualTo(9);
+        assertThat(totals.getTotalValue()).isEqualByComparingTo("45.00");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findStockTotalsForProduct should return zero totals for a product without entries")
+    void testFindStockTotalsForProductWithoutEntries() {
+        // Act
+        StockTotalsView totals = entryRepository.findStockTotalsForProduct(-1L);
+
+        // Assert
+        assertThat(totals.getShopCount()).isZero();
+        assertThat(totals.getTotalAmount()).isZero();
+        assertThat(totals.getTotalValue()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("findTopShopsForProduct should rank shops by summed amount and honour the limit")
+    void testFindTopShopsForProduct() {
+        // Arrange
+        persistMoreDairyStock();
+
+        // Act
+        List<ShopStockRankView> result = entryRepository.findTopShopsForProduct(product.getId(), Limit.of(1));
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(result.getFirst().getShopName()).isEqualTo("Bravo Shop");
+        assertThat(result.getFirst().getTotalAmount()).isEqualTo(7);
+        assertThat(result.getFirst().getTotalValue()).isEqualByComparingTo("35.00");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("category aggregations should cover every product in the category")
+    void testCategoryAggregations() {
+        // Arrange
+        persistMoreDairyStock();
+
+        // Act
+        StockTotalsView totals = entryRepository.findStockTotalsForCategory(Category.DAIRY_PRODUCTS);
+        List<ShopStockRankView> topShops = entryRepository.findTopShopsForCategory(Category.DAIRY_PRODUCTS, Limit.of(5));
+
+        // Assert
+        assertThat(totals.getShopCount()).isEqualTo(2);
+        assertThat(totals.getTotalAmount()).isEqualTo(10);
+        assertThat(totals.getTotalValue()).isEqualByComparingTo("53.00");
+        assertThat(topShops).extracting(ShopStockRankView::getShopName).containsExactly("Bravo Shop", "Alpha Shop");
+        assertThat(topShops.getLast().getTotalAmount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private void persistMoreDairyStock() {
+        Shop alpha = entityManager.find(Shop.class, firstShop.getId());
+        Entry bravoMilk = entryRepository.findByShop_Id(secondShop.getId()).getFirst();
+        bravoMilk.setAmount(7);
+        bravoMilk.setTotalPrice(new BigDecimal("35.00"));
+        Product cheese = entityManager.persist(new Product(null, "Cheese", "Dairy Co", Category.DAIRY_PRODUCTS,
+                "CHEESE-001", null, new BigDecimal("8.00"), null));
+        entityManager.persist(new Entry(null, alpha, cheese, 1, new BigDecimal("8.00")));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("saving an entry read before a concurrent update should fail the version check")
+    void testStaleEntryUpdateRejected() {
+        // Arrange
+        Entry stale = entryRepository.findByShop_Id(firstShop.getId()).getFirst();
+        entityManager.clear();
+        Entry concurrent = entryRepository.findById(stale.getId()).orElseThrow();
+        concurrent.setAmount(5);
+        entryRepository.saveAndFlush(concurrent);
+        entityManager.clear();
+        stale.setAmount(7);
+
+        // Act & Assert
+        assertThat(concurrent.getVersion()).isEqualTo(stale.getVersion() + 1);
+        assertThatThrownBy(() -> entryRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("queries should skip entries of soft-deleted shops")
+    void testSoftDeletedShopFiltered() {
+        // Arrange
+        entityManager.remove(entityManager.find(Shop.class, secondShop.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<ProductLocalizationDto> localizations = entryRepository.findLocalizationsByProductId(product.getId());
+        StockTotalsView totals = entryRepository.findStockTotalsForProduct(product.getId());
+
+        // Assert
+        assertThat(localizations).extracting(localization -> localization.getShop().getName()).containsExactly("Alpha Shop");
+        assertThat(totals.getShopCount()).isEqualTo(1);
+        assertThat(totals.getTotalAmount()).isEqualTo(2);
+        assertThat(entryRepository.countByProduct_Id(product.getId())).isEqualTo(2);
+    }
+}
@@ -1,8 +1,11 @@
 package edu.chylaozgaoldakowski.location_manager.entry;
 
+import edu.chylaozgaoldakowski.location_manager.product.Category;
 import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.product.ProductPriceView;
 import edu.chylaozgaoldakowski.location_manager.product.ProductRepository;
 import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopInventory;
 import edu.chylaozgaoldakowski.location_manager.shop.ShopRepository;
 import edu.chylaozgaoldakowski.location_manager.user.AppUser;
 import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
@@ -11,18 +14,29 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,11 +53,20 @@ class EntryServiceTest {
     private ProductRepository productRepository;
 
     @Mock
-    private EntryMapper entryMapper;
+    private EntryBatchRepository entryBatchRepository;
+
+    @Mock
+    private EntryDeleteRepository entryDeleteRepository;
+
+    @Mock
+    private ShopInventory shopInventory;
 
     @InjectMocks
     private EntryService entryService;
 
+    @Captor
+    private ArgumentCaptor<List<EntryImportRow>> linesCaptor;
+
     private Shop testShop;
     private Product testProduct;
     private Entry testEntry;
@@ -63,6 +86,7 @@ class EntryServiceTest {
         testProduct.setId(1L);
         testProduct.setName("Test Product");
         testProduct.setPrice(new BigDecimal("99.99"));
+        testProduct.setCategory(Category.DAIRY_PRODUCTS);
 
         testUser = new AppUser();
         testUser.setId(1L);
@@ -90,28 +114,63 @@ class EntryServiceTest {
     }
 
     @Test
-    @DisplayName("save should create new entry when user has access to shop")
+    @DisplayName("save should upsert a new line when user has access to shop")
     void testSaveSuccess() {
         // Arrange
         when(shopRepository.findById(1L)).thenReturn(Optional.of(testShop));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-        when(entryRepository.save(any(Entry.class))).thenReturn(testEntry);
-
-        ArgumentCaptor<Entry> entryCaptor = ArgumentCaptor.forClass(Entry.class);
+        when(productRepository.findPricesForShareByIdIn(List.of(1L))).thenReturn(List.of(priceView(testProduct)));
+        when(entryBatchRepository.lockLines(1L, List.of(1L))).thenReturn(Map.of());
+        when(entryBatchRepository.upsertAll(eq(1L), anyList()))
+                .thenReturn(List.of(new UpsertedLine(1L, true, new BigDecimal("999.90"))));
 
         // Act
         entryService.save(testEntryDto, testUserDetails);
 
         // Assert
         verify(shopRepository).findById(1L);
-        verify(productRepository).findById(1L);
-        verify(entryRepository).save(entryCaptor.capture());
+        verify(productRepository).findPricesForShareByIdIn(List.of(1L));
+        verify(entryBatchRepository).upsertAll(eq(1L), linesCaptor.capture());
+        verify(entryRepository, never()).save(any());
 
-        Entry savedEntry = entryCaptor.getValue();
-        assertThat(savedEntry.getShop()).isEqualTo(testShop);
-        assertThat(savedEntry.getProduct()).isEqualTo(testProduct);
-        assertThat(savedEntry.getAmount()).isEqualTo(10);
-        assertThat(savedEntry.getTotalPrice()).isEqualByComparingTo(new BigDecimal("999.90"));
+        EntryImportRow line = linesCaptor.getValue().getFirst();
+        assertThat(line.getProductId()).isEqualTo(1L);
+        assertThat(line.getAmount()).isEqualTo(10);
+        assertThat(line.getTotalPrice()).isEqualByComparingTo(new BigDecimal("999.90"));
+        verify(shopInventory).record(1L, Category.DAIRY_PRODUCTS, 1, 10, new BigDecimal("999.90"));
+    }
+
+    @Test
+    @DisplayName("save should merge into the shop's existing line for the product")
+    void testSaveMergesExistingLine() {
+        // Arrange
+        when(shopRepository.findById(1L)).thenReturn(Optional.of(testShop));
+        when(productRepository.findPricesForShareByIdIn(List.of(1L))).thenReturn(List.of(priceView(testProduct)));
+        when(entryBatchRepository.lockLines(1L, List.of(1L))).thenReturn(Map.of(1L, new BigDecimal("450.00")));
+        when(entryBatchRepository.upsertAll(eq(1L), anyList()))
+                .thenReturn(List.of(new UpsertedLine(1L, false, new BigDecimal("1499.85"))));
+
+        // Act
+        entryService.save(testEntryDto, testUserDetails);
+
+        // Assert
+        verify(shopInventory).record(1L, Category.DAIRY_PRODUCTS, 0, 10, new BigDecimal("1049.85"));
+    }
+
+    @Test
+    @DisplayName("save should fail for a retry when the line appears between the lock and the upsert")
+    void testSaveLineCreatedConcurrently() {
+        // Arrange
+        when(shopRepository.findById(1L)).thenReturn(Optional.of(testShop));
+        when(productRepository.findPricesForShareByIdIn(List.of(1L))).thenReturn(List.of(priceView(testProduct)));
+        when(entryBatchRepository.lockLines(1L, List.of(1L))).thenReturn(Map.of());
+        when(entryBatchRepository.upsertAll(eq(1L), anyList()))
+                .thenReturn(List.of(new UpsertedLine(1L, false, new BigDecimal("1499.85"))));
+
+        // Act & Assert
+        assertThatThrownBy(() -> entryService.save(testEntryDto, testUserDetails))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessageContaining("created concurrently");
+        verifyNoInteractions(shopInventory);
     }
 
     @Test
@@ -135,7 +194,7 @@ class EntryServiceTest {
                 .hasMessage("Cannot create entry");
 
         verify(shopRepository).findById(2L);
-        verify(entryRepository, never()).save(any());
+        verify(entryBatchRepository, never()).upsertAll(any(), any());
     }
 
     @Test
@@ -150,7 +209,7 @@ class EntryServiceTest {
                 .hasMessage("Cannot create entry");
 
         verify(shopRepository).findById(1L);
-        verify(entryRepository, never()).save(any());
+        verify(entryBatchRepository, never()).upsertAll(any(), any());
     }
 
     @Test
@@ -169,7 +228,7 @@ class EntryServiceTest {
                 .isInstanceOf(NoSuchElementException.class);
 
         verify(shopRepository).findById(999L);
-        verify(entryRepository, never()).save(any());
+        verify(entryBatchRepository, never()).upsertAll(any(), any());
     }
 
     @Test
@@ -182,89 +241,84 @@ class EntryServiceTest {
         entryDto.setAmount(10);
 
         when(shopRepository.findById(1L)).thenReturn(Optional.of(testShop));
-        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+        when(productRepository.findPricesForShareByIdIn(List.of(999L))).thenReturn(List.of());
 
         // Act & Assert
         assertThatThrownBy(() -> entryService.save(entryDto, testUserDetails))
                 .isInstanceOf(NoSuchElementException.class);
 
         verify(shopRepository).findById(1L);
-        verify(productRepository).findById(999L);
-        verify(entryRepository, never()).save(any());
+        verify(productRepository).findPricesForShareByIdIn(List.of(999L));
+        verify(entryBatchRepository, never()).upsertAll(any(), any());
     }
 
     @Test
-    @DisplayName("deleteById should delete entry when user has access to shop")
+    @DisplayName("deleteById should delete entry in one statement when user has access to shop")
     void testDeleteByIdSuccess() {
         // Arrange
-        when(entryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
-        doNothing().when(entryRepository).deleteById(1L);
+        when(entryDeleteRepository.deleteOwned(1L, 1L))
+                .thenReturn(Optional.of(new DeletedEntry(Category.DAIRY_PRODUCTS, 10, new BigDecimal("999.90"))));
 
         // Act
-        entryService.deleteById(1L, testUserDetails);
+        EntryDeletionStatus result = entryService.deleteById(1L, testUserDetails);
 
         // Assert
-        verify(entryRepository).findById(1L);
-        verify(entryRepository).deleteById(1L);
+        assertThat(result).isEqualTo(EntryDeletionStatus.DELETED);
+        verify(entryDeleteRepository).deleteOwned(1L, 1L);
+        verify(entryRepository, never()).findById(any());
+        verify(entryRepository, never()).existsById(any());
+        verify(shopInventory).record(1L, Category.DAIRY_PRODUCTS, -1, -10, new BigDecimal("-999.90"));
     }
 
     @Test
-    @DisplayName("deleteById should throw AccessDeniedException when user does not have access to shop")
+    @DisplayName("deleteById should report access denied when the entry belongs to another shop")
     void testDeleteByIdAccessDenied() {
         // Arrange
-        Shop otherShop = new Shop();
-        otherShop.setId(2L);
+        when(entryDeleteRepository.deleteOwned(1L, 1L)).thenReturn(Optional.empty());
+        when(entryRepository.existsById(1L)).thenReturn(true);
 
-        Entry entry = new Entry();
-        entry.setId(1L);
-        entry.setShop(otherShop);
-
-        when(entryRepository.findById(1L)).thenReturn(Optional.of(entry));
-
-        // Act & Assert
-        assertThatThrownBy(() -> entryService.deleteById(1L, testUserDetails))
-                .isInstanceOf(AccessDeniedException.class)
-                .hasMessage("Cannot delete entry");
+        // Act
+        EntryDeletionStatus result = entryService.deleteById(1L, testUserDetails);
 
-        verify(entryRepository).findById(1L);
-        verify(entryRepository, never()).deleteById(any());
+        // Assert
+        assertThat(result).isEqualTo(EntryDeletionStatus.ACCESS_DENIED);
+        verify(shopInventory, never()).record(any(), any(), anyLong(), anyLong(), any());
     }
 
     @Test
-    @DisplayName("deleteById should throw AccessDeniedException when user is null")
+    @DisplayName("deleteById should report access denied without deleting when user is null")
     void testDeleteByIdNullUser() {
         // Arrange
-        when(entryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        when(entryRepository.existsById(1L)).thenReturn(true);
 
-        // Act & Assert
-        assertThatThrownBy(() -> entryService.deleteById(1L, null))
-                .isInstanceOf(AccessDeniedException.class)
-                .hasMessage("Cannot delete entry");
+        // Act
+        EntryDeletionStatus result = entryService.deleteById(1L, null);
 
-        verify(entryRepository).findById(1L);
-        verify(entryRepository, never()).deleteById(any());
+        // Assert
+        assertThat(result).isEqualTo(EntryDeletionStatus.ACCESS_DENIED);
+        verify(entryDeleteRepository, never()).deleteOwned(any(), any());
     }
 
     @Test
-    @DisplayName("deleteById should throw NoSuchElementException when entry does not exist")
+    @DisplayName("deleteById should report not found when entry does not exist")
     void testDeleteByIdNotFound() {
         // Arrange
-        when(entryRepository.findById(999L)).thenReturn(Optional.empty());
+        when(entryDeleteRepository.deleteOwned(999L, 1L)).thenReturn(Optional.empty());
+        when(entryRepository.existsById(999L)).thenReturn(false);
 
-        // Act & Assert
-        assertThatThrownBy(() -> entryService.deleteById(999L, testUserDetails))
-                .isInstanceOf(NoSuchElementException.class);
+        // Act
+        EntryDeletionStatus result = entryService.deleteById(999L, testUserDetails);
 
-        verify(entryRepository).findById(999L);
-        verify(entryRepository, never()).deleteById(any());
+        // Assert
+        assertThat(result).isEqualTo(EntryDeletionStatus.NOT_FOUND);
+        verify(shopInventory, never()).record(any(), any(), anyLong(), anyLong(), any());
     }
 
     @Test
     @DisplayName("getById should return entry DTO when user has access to shop")
     void testGetByIdSuccess() {
         // Arrange
-        when(entryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
-        when(entryMapper.toDto(testEntry)).thenReturn(testEntryDto);
+        when(entryRepository.findDtoById(1L)).thenReturn(Optional.of(testEntryDto));
 
         // Act
         EntryDto result = entryService.getById(1L, testUserDetails);
@@ -273,59 +327,53 @@ class EntryServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getShopId()).isEqualTo(1L);
-        verify(entryRepository).findById(1L);
-        verify(entryMapper).toDto(testEntry);
+        verify(entryRepository).findDtoById(1L);
+        verify(entryRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("getById should throw AccessDeniedException when user does not have access to shop")
     void testGetByIdAccessDenied() {
         // Arrange
-        Shop otherShop = new Shop();
-        otherShop.setId(2L);
-
-        Entry entry = new Entry();
+        EntryDto entry = new EntryDto();
         entry.setId(1L);
-        entry.setShop(otherShop);
+        entry.setShopId(2L);
 
-        when(entryRepository.findById(1L)).thenReturn(Optional.of(entry));
+        when(entryRepository.findDtoById(1L)).thenReturn(Optional.of(entry));
 
         // Act & Assert
         assertThatThrownBy(() -> entryService.getById(1L, testUserDetails))
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessage("Cannot access entry with id: 1");
 
-        verify(entryRepository).findById(1L);
-        verify(entryMapper, never()).toDto(any());
+        verify(entryRepository).findDtoById(1L);
     }
 
     @Test
     @DisplayName("getById should throw AccessDeniedException when user is null")
     void testGetByIdNullUser() {
         // Arrange
-        when(entryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        when(entryRepository.findDtoById(1L)).thenReturn(Optional.of(testEntryDto));
 
         // Act & Assert
         assertThatThrownBy(() -> entryService.getById(1L, null))
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessage("Cannot access entry with id: 1");
 
-        verify(entryRepository).findById(1L);
-        verify(entryMapper, never()).toDto(any());
+        verify(entryRepository).findDtoById(1L);
     }
 
     @Test
     @DisplayName("getById should throw NoSuchElementException when entry does not exist")
     void testGetByIdNotFound() {
         // Arrange
-        when(entryRepository.findById(999L)).thenReturn(Optional.empty());
+        when(entryRepository.findDtoById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> entryService.getById(999L, testUserDetails))
                 .isInstanceOf(NoSuchElementException.class);
 
-        verify(entryRepository).findById(999L);
-        verify(entryMapper, never()).toDto(any());
+        verify(entryRepository).findDtoById(999L);
     }
 
     @Test
@@ -339,8 +387,9 @@ class EntryServiceTest {
         updatedDto.setAmount(20);
 
         when(entryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        when(productRepository.findPricesForShareByIdIn(Set.of(1L))).thenReturn(List.of(priceView(testProduct)));
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-        when(entryRepository.save(testEntry)).thenReturn(testEntry);
+        when(entryRepository.saveAndFlush(testEntry)).thenReturn(testEntry);
 
         // Act
         entryService.update(1L, updatedDto, testUserDetails);
@@ -348,9 +397,113 @@ class EntryServiceTest {
         // Assert
         verify(entryRepository).findById(1L);
         verify(productRepository).findById(1L);
-        verify(entryRepository).save(testEntry);
+        verify(entryRepository).saveAndFlush(testEntry);
         assertThat(testEntry.getAmount()).isEqualTo(20);
         assertThat(testEntry.getTotalPrice()).isEqualByComparingTo(new BigDecimal("1999.80"));
+        verify(shopInventory).record(1L, Category.DAIRY_PRODUCTS, 0, 10, new BigDecimal("999.90"));
+        verifyNoMoreInteractions(shopInventory);
+    }
+
+    @Test
+    @DisplayName("update should lock both products, then the entry row, then the summary rows in category order")
+    void testUpdateLockOrder() {
+        // Arrange
+        Product bakeryProduct = new Product();
+        bakeryProduct.setId(2L);
+        bakeryProduct.setPrice(new BigDecimal("4.00"));
+        bakeryProduct.setCategory(Category.BAKERY_PRODUCTS);
+
+        EntryDto updatedDto = new EntryDto();
+        updatedDto.setId(1L);
+        updatedDto.setShopId(1L);
+        updatedDto.setProductId(2L);
+        updatedDto.setAmount(5);
+
+        when(entryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        when(productRepository.findPricesForShareByIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(priceView(testProduct), priceView(bakeryProduct)));
+        when(productRepository.findById(2L)).thenReturn(Optional.of(bakeryProduct));
+
+        // Act
+        entryService.update(1L, updatedDto, testUserDetails);
+
+        // Assert
+        InOrder inOrder = inOrder(productRepository, entryRepository, shopInventory);
+        inOrder.verify(productRepository).findPricesForShareByIdIn(Set.of(1L, 2L));
+        inOrder.verify(entryRepository).saveAndFlush(testEntry);
+        inOrder.verify(shopInventory).record(1L, Category.BAKERY_PRODUCTS, 1, 5, new BigDecimal("20.00"));
+        inOrder.verify(shopInventory).record(1L, Category.DAIRY_PRODUCTS, -1, -10, new BigDecimal("-999.90"));
+    }
+
+    @Test
+    @DisplayName("update should reject a form based on a stale version")
+    void testUpdateStaleVersion() {
+        // Arrange
+        testEntry.setVersion(3);
+        EntryDto updatedDto = new EntryDto();
+        updatedDto.setShopId(1L);
+        updatedDto.setProductId(1L);
+        updatedDto.setAmount(20);
+        updatedDto.setVersion(2L);
+
+        when(entryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+
+        // Act & Assert
+        assertThatThrownBy(() -> entryService.update(1L, updatedDto, testUserDetails))
+                .isInstanceOf(EntryConflictException.class);
+        assertThat(testEntry.getAmount()).isEqualTo(10);
+        verify(entryRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(shopInventory);
+    }
+
+    @Test
+    @DisplayName("update should apply a form based on the current version")
+    void testUpdateCurrentVersion() {
+        // Arrange
+        testEntry.setVersion(3);
+        EntryDto updatedDto = new EntryDto();
+        updatedDto.setShopId(1L);
+        updatedDto.setProductId(1L);
+        updatedDto.setAmount(20);
+        updatedDto.setVersion(3L);
+
+        when(entryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        when(productRepository.findPricesForShareByIdIn(Set.of(1L))).thenReturn(List.of(priceView(testProduct)));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+
+        // Act
+        entryService.update(1L, updatedDto, testUserDetails);
+
+        // Assert
+        verify(entryRepository).saveAndFlush(testEntry);
+        assertThat(testEntry.getAmount()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("update should surface the unique constraint when moving the entry onto a product the shop already lists")
+    void testUpdateDuplicateProduct() {
+        // Arrange
+        Product listedProduct = new Product();
+        listedProduct.setId(2L);
+        listedProduct.setPrice(new BigDecimal("8.00"));
+        listedProduct.setCategory(Category.DAIRY_PRODUCTS);
+
+        EntryDto updatedDto = new EntryDto();
+        updatedDto.setId(1L);
+        updatedDto.setShopId(1L);
+        updatedDto.setProductId(2L);
+        updatedDto.setAmount(3);
+
+        when(entryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        when(productRepository.findPricesForShareByIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(priceView(testProduct), priceView(listedProduct)));
+        when(productRepository.findById(2L)).thenReturn(Optional.of(listedProduct));
+        when(entryRepository.saveAndFlush(testEntry)).thenThrow(new DataIntegrityViolationException("uk_entry_shop_id_product_id"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> entryService.update(1L, updatedDto, testUserDetails))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verifyNoInteractions(shopInventory);
     }
 
     @Test
@@ -378,7 +531,7 @@ class EntryServiceTest {
                 .hasMessage("Cannot update entry with id: 1");
 
         verify(entryRepository).findById(1L);
-        verify(entryRepository, never()).save(any());
+        verify(entryRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -397,7 +550,7 @@ class EntryServiceTest {
                 .hasMessage("Cannot update entry with id: 1");
 
         verify(entryRepository).findById(1L);
-        verify(entryRepository, never()).save(any());
+        verify(entryRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -414,7 +567,7 @@ class EntryServiceTest {
                 .isInstanceOf(NoSuchElementException.class);
 
         verify(entryRepository).findById(999L);
-        verify(entryRepository, never()).save(any());
+        verify(entryRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -428,15 +581,15 @@ class EntryServiceTest {
         updatedDto.setAmount(20);
 
         when(entryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
-        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+        when(productRepository.findPricesForShareByIdIn(Set.of(1L, 999L))).thenReturn(List.of(priceView(testProduct)));
 
         // Act & Assert
         assertThatThrownBy(() -> entryService.update(1L, updatedDto, testUserDetails))
                 .isInstanceOf(NoSuchElementException.class);
 
         verify(entryRepository).findById(1L);
-        verify(productRepository).findById(999L);
-        verify(entryRepository, never()).save(any());
+        verify(productRepository, never()).findById(any());
+        verify(entryRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -455,8 +608,10 @@ class EntryServiceTest {
         updatedDto.setAmount(3);
 
         when(entryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        when(productRepository.findPricesForShareByIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(priceView(testProduct), priceView(expensiveProduct)));
         when(productRepository.findById(2L)).thenReturn(Optional.of(expensiveProduct));
-        when(entryRepository.save(testEntry)).thenReturn(testEntry);
+        when(entryRepository.saveAndFlush(testEntry)).thenReturn(testEntry);
 
         // Act
         entryService.update(1L, updatedDto, testUserDetails);
@@ -465,6 +620,134 @@ class EntryServiceTest {
         assertThat(testEntry.getProduct()).isEqualTo(expensiveProduct);
         assertThat(testEntry.getAmount()).isEqualTo(3);
         assertThat(testEntry.getTotalPrice()).isEqualByComparingTo(new BigDecimal("751.50"));
-        verify(entryRepository).save(testEntry);
+        verify(entryRepository).saveAndFlush(testEntry);
+    }
+
+    @Test
+    @DisplayName("Should import entries merged per product with one price lookup and one batch upsert")
+    void testImportEntries() {
+        // Arrange
+        Product secondProduct = new Product();
+        secondProduct.setId(2L);
+        secondProduct.setPrice(new BigDecimal("2.50"));
+        secondProduct.setCategory(Category.BEVERAGES);
+        List<EntryImportRow> rows = List.of(new EntryImportRow(1L, 2), new EntryImportRow(2L, 4), new EntryImportRow(1L, 1));
+        when(shopRepository.existsById(1L)).thenReturn(true);
+        when(productRepository.findPricesForShareByIdIn(anyCollection()))
+                .thenReturn(List.of(priceView(testProduct), priceView(secondProduct)));
+        when(entryBatchRepository.lockLines(eq(1L), anyCollection())).thenReturn(Map.of());
+        when(entryBatchRepository.upsertAll(eq(1L), anyList())).thenReturn(List.of(
+                new UpsertedLine(1L, true, new BigDecimal("299.97")), new UpsertedLine(2L, true, new BigDecimal("10.00"))));
+
+        // Act
+        EntryImportResult result = entryService.importEntries(1L, rows, testUserDetails);
+
+        // Assert
+        assertThat(result.getShopId()).isEqualTo(1L);
+        assertThat(result.getRows()).isEqualTo(3);
+        assertThat(result.getRowsPerSecond()).isPositive();
+        assertThat(rows).extracting(EntryImportRow::getTotalPrice)
+                .containsExactly(new BigDecimal("199.98"), new BigDecimal("10.00"), new BigDecimal("99.99"));
+        verify(productRepository, times(1)).findPricesForShareByIdIn(anyCollection());
+        verify(entryBatchRepository).upsertAll(eq(1L), linesCaptor.capture());
+        assertThat(linesCaptor.getValue()).extracting(EntryImportRow::getProductId, EntryImportRow::getAmount)
+                .containsExactly(tuple(1L, 3), tuple(2L, 4));
+        verify(shopInventory).record(1L, Category.DAIRY_PRODUCTS, 1, 3, new BigDecimal("299.97"));
+        verify(shopInventory).record(1L, Category.BEVERAGES, 1, 4, new BigDecimal("10.00"));
+        verify(shopRepository, never()).findById(any());
+        verify(productRepository, never()).findById(any());
+        verify(entryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should record only the change to lines the import merges into")
+    void testImportEntriesMergesExistingLines() {
+        // Arrange
+        List<EntryImportRow> rows = List.of(new EntryImportRow(1L, 2));
+        when(shopRepository.existsById(1L)).thenReturn(true);
+        when(productRepository.findPricesForShareByIdIn(anyCollection())).thenReturn(List.of(priceView(testProduct)));
+        when(entryBatchRepository.lockLines(eq(1L), anyCollection())).thenReturn(Map.of(1L, new BigDecimal("450.00")));
+        when(entryBatchRepository.upsertAll(eq(1L), anyList()))
+                .thenReturn(List.of(new UpsertedLine(1L, false, new BigDecimal("699.93"))));
+
+        // Act
+        entryService.importEntries(1L, rows, testUserDetails);
+
+        // Assert
+        verify(shopInventory).record(1L, Category.DAIRY_PRODUCTS, 0, 2, new BigDecimal("249.93"));
+    }
+
+    @Test
+    @DisplayName("Should fail the import for a retry when a line appears between the lock and the upsert")
+    void testImportEntriesLineCreatedConcurrently() {
+        // Arrange
+        when(shopRepository.existsById(1L)).thenReturn(true);
+        when(productRepository.findPricesForShareByIdIn(anyCollection())).thenReturn(List.of(priceView(testProduct)));
+        when(entryBatchRepository.lockLines(eq(1L), anyCollection())).thenReturn(Map.of());
+        when(entryBatchRepository.upsertAll(eq(1L), anyList()))
+                .thenReturn(List.of(new UpsertedLine(1L, false, new BigDecimal("699.93"))));
+
+        // Act & Assert
+        assertThatThrownBy(() -> entryService.importEntries(1L, List.of(new EntryImportRow(1L, 2)), testUserDetails))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verifyNoInteractions(shopInventory);
+    }
+
+    @Test
+    @DisplayName("Should reject import into another user's shop before touching products")
+    void testImportEntriesAccessDenied() {
+        // Arrange
+        when(shopRepository.existsById(2L)).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> entryService.importEntries(2L, List.of(new EntryImportRow(1L, 1)), testUserDetails))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(productRepository, entryBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject import into missing shop")
+    void testImportEntriesShopNotFound() {
+        // Arrange
+        when(shopRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> entryService.importEntries(99L, List.of(new EntryImportRow(1L, 1)), testUserDetails))
+                .isInstanceOf(NoSuchElementException.class);
+        verifyNoInteractions(productRepository, entryBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject import with unknown products without inserting anything")
+    void testImportEntriesUnknownProduct() {
+        // Arrange
+        when(shopRepository.existsById(1L)).thenReturn(true);
+        when(productRepository.findPricesForShareByIdIn(anyCollection())).thenReturn(List.of(priceView(testProduct)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> entryService.importEntries(1L,
+                List.of(new EntryImportRow(1L, 1), new EntryImportRow(42L, 1)), testUserDetails))
+                .isInstanceOf(EntryImportException.class)
+                .hasMessageContaining("42");
+        verify(entryBatchRepository, never()).upsertAll(eq(1L), any());
+    }
+
+    private static ProductPriceView priceView(Product product) {
+        return new ProductPriceView() {
+            @Override
+            public Long getId() {
+                return product.getId();
+            }
+
+            @Override
+            public BigDecimal getPrice() {
+                return product.getPrice();
+            }
+
+            @Override
+            public Category getCategory() {
+                return product.getCategory();
+            }
+        };
     }
 }
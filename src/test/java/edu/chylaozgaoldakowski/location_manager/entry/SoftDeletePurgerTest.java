@@ -0,0 +1,88 @@
+package edu.chylaozgaoldakowski.location_manager.entry;
+
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {"app.purge.chunk-size=2", "app.purge.pause=0s"})
+@Import({EntryPurgeRepository.class, SoftDeletePurger.class})
+@DisplayName("SoftDeletePurger Tests")
+class SoftDeletePurgerTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SoftDeletePurger purger;
+
+    private Shop deletedShop;
+    private Shop keptShop;
+    private Product deletedProduct;
+
+    @BeforeEach
+    void setUp() {
+        deletedShop = entityManager.persist(new Shop(null, "Closed Shop", "1 Test St", "Test City", null));
+        deletedProduct = entityManager.persist(new Product(null, "Old Milk", "Dairy Co", Category.DAIRY_PRODUCTS,
+                "MILK-OLD", null, new BigDecimal("5.00"), null));
+        for (int i = 1; i <= 5; i++) {
+            Shop shop = entityManager.persist(new Shop(null, "Open Shop " + i, (i + 1) + " Test St", "Test City", null));
+            Product product = entityManager.persist(new Product(null, "Milk " + i, "Dairy Co", Category.DAIRY_PRODUCTS,
+                    "MILK-00" + i, null, new BigDecimal("5.00"), null));
+            if (keptShop == null) {
+                keptShop = shop;
+            }
+            entityManager.persist(new Entry(null, deletedShop, product, i, new BigDecimal("5.00")));
+            entityManager.persist(new Entry(null, shop, deletedProduct, i, new BigDecimal("5.00")));
+            entityManager.persist(new Entry(null, keptShop, product, i, new BigDecimal("5.00")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.remove(entityManager.find(Shop.class, deletedShop.getId()));
+        entityManager.remove(entityManager.find(Product.class, deletedProduct.getId()));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("purge should remove entries of deleted parents in chunks and then the parents themselves")
+    void testPurge() {
+        // Act
+        purger.purge();
+
+        // Assert
+        assertThat(count("select count(*) from entry where shop_id = ?", deletedShop.getId())).isZero();
+        assertThat(count("select count(*) from entry where product_id = ?", deletedProduct.getId())).isZero();
+        assertThat(count("select count(*) from entry where shop_id = ?", keptShop.getId())).isEqualTo(5);
+        assertThat(count("select count(*) from shop where id = ?", deletedShop.getId())).isZero();
+        assertThat(count("select count(*) from product where id = ?", deletedProduct.getId())).isZero();
+        assertThat(count("select count(*) from shop where id = ?", keptShop.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("soft-deleted rows should stay in the table until purged but be invisible to JPA")
+    void testSoftDeleteKeepsRowsUntilPurge() {
+        // Assert
+        assertThat(entityManager.find(Shop.class, deletedShop.getId())).isNull();
+        assertThat(count("select count(*) from shop where id = ? and deleted = true", deletedShop.getId())).isEqualTo(1);
+        assertThat(count("select count(*) from entry where shop_id = ?", deletedShop.getId())).isEqualTo(5);
+    }
+
+    private long count(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+}
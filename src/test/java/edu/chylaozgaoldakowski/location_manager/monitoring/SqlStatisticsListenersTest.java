@@ -0,0 +1,82 @@
+package edu.chylaozgaoldakowski.location_manager.monitoring;
+
+import edu.chylaozgaoldakowski.location_manager.entry.Entry;
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({SqlStatisticsConfig.class, SqlStatisticsRecorder.class})
+@DisplayName("SQL Statistics Listener Tests")
+class SqlStatisticsListenersTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    private Long shopId;
+
+    @BeforeEach
+    void setUp() {
+        Shop shop = entityManager.persist(new Shop(null, "Test Shop", "1 Test St", "Test City", null));
+        for (int i = 0; i < 3; i++) {
+            Product product = entityManager.persist(new Product(null, "Product " + i, "Test Manufacturer",
+                    Category.DAIRY_PRODUCTS, "CODE-" + i, null, new BigDecimal("2.50"), null));
+            entityManager.persist(new Entry(null, shop, product, 1, new BigDecimal("2.50")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        shopId = shop.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestSqlStatistics.end();
+    }
+
+    @Test
+    @DisplayName("should count statements, entity loads and collection fetches in the current scope")
+    void testLazyCollectionAccessIsCounted() {
+        // Arrange
+        RequestSqlStatistics statistics = RequestSqlStatistics.begin();
+
+        // Act
+        Shop shop = shopRepository.findById(shopId).orElseThrow();
+        shop.getEntries().forEach(entry -> entry.getProduct().getName());
+
+        // Assert
+        assertThat(statistics.getStatements()).isGreaterThanOrEqualTo(2);
+        assertThat(statistics.getEntityLoads()).isGreaterThanOrEqualTo(7);
+        assertThat(statistics.getCollectionFetches()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should ignore database work outside a request scope")
+    void testNoScope() {
+        // Arrange
+        RequestSqlStatistics statistics = RequestSqlStatistics.begin();
+        RequestSqlStatistics.end();
+
+        // Act
+        shopRepository.findById(shopId).orElseThrow();
+
+        // Assert
+        assertThat(statistics.getStatements()).isZero();
+        assertThat(statistics.getEntityLoads()).isZero();
+    }
+}
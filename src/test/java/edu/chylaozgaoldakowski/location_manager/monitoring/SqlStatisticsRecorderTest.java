@@ -0,0 +1,72 @@
+package edu.chylaozgaoldakowski.location_manager.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SqlStatisticsRecorder Unit Tests")
+class SqlStatisticsRecorderTest {
+
+    @Test
+    @DisplayName("should aggregate per endpoint and flag requests over the statement threshold")
+    void testFlagging() {
+        // Arrange
+        SqlStatisticsRecorder recorder = new SqlStatisticsRecorder(2, 10);
+
+        // Act
+        recorder.record("GET /shops/{id}", "/shops/1", statementsRun(2), 1_000_000);
+        recorder.record("GET /shops/{id}", "/shops/2", statementsRun(5), 3_000_000);
+
+        // Assert
+        EndpointSqlStatistics.Summary summary = recorder.getEndpoints().get("GET /shops/{id}");
+        assertThat(summary.requests()).isEqualTo(2);
+        assertThat(summary.flaggedRequests()).isEqualTo(1);
+        assertThat(summary.statements()).isEqualTo(7);
+        assertThat(summary.maxStatements()).isEqualTo(5);
+        assertThat(recorder.getRecentFlagged()).singleElement()
+                .satisfies(flagged -> {
+                    assertThat(flagged.uri()).isEqualTo("/shops/2");
+                    assertThat(flagged.elapsedMillis()).isEqualTo(3);
+                });
+    }
+
+    @Test
+    @DisplayName("should keep only the most recent flagged requests")
+    void testRecentFlaggedLimit() {
+        // Arrange
+        SqlStatisticsRecorder recorder = new SqlStatisticsRecorder(0, 2);
+
+        // Act
+        for (int i = 1; i <= 3; i++) {
+            recorder.record("GET /products/{id}", "/products/" + i, statementsRun(1), 0);
+        }
+
+        // Assert
+        assertThat(recorder.getRecentFlagged()).extracting(SqlStatisticsRecorder.FlaggedRequest::uri)
+                .containsExactly("/products/3", "/products/2");
+    }
+
+    @Test
+    @DisplayName("reset should clear aggregates and flagged requests")
+    void testReset() {
+        // Arrange
+        SqlStatisticsRecorder recorder = new SqlStatisticsRecorder(0, 2);
+        recorder.record("POST /entries", "/entries", statementsRun(3), 0);
+
+        // Act
+        recorder.reset();
+
+        // Assert
+        assertThat(recorder.getEndpoints()).isEmpty();
+        assertThat(recorder.getRecentFlagged()).isEmpty();
+    }
+
+    private static RequestSqlStatistics statementsRun(int statements) {
+        RequestSqlStatistics statistics = new RequestSqlStatistics();
+        for (int i = 0; i < statements; i++) {
+            statistics.statementPrepared();
+        }
+        return statistics;
+    }
+}
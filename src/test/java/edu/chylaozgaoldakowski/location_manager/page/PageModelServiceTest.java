@@ -0,0 +1,170 @@
+package edu.chylaozgaoldakowski.location_manager.page;
+
+import edu.chylaozgaoldakowski.location_manager.config.PageFanOutConfig;
+import edu.chylaozgaoldakowski.location_manager.entry.EntryDto;
+import edu.chylaozgaoldakowski.location_manager.product.IProductService;
+import edu.chylaozgaoldakowski.location_manager.product.ProductDto;
+import edu.chylaozgaoldakowski.location_manager.product.ProductLocalizationDto;
+import edu.chylaozgaoldakowski.location_manager.shop.IShopService;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopDto;
+import edu.chylaozgaoldakowski.location_manager.user.AppUser;
+import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PageModelService Unit Tests")
+class PageModelServiceTest {
+
+    @Mock
+    private IShopService shopService;
+
+    @Mock
+    private IProductService productService;
+
+    private ExecutorService executor;
+    private PageModelService pageModelService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        pageModelService = new PageModelService(shopService, productService, executor, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("getShopDetails should load shop and entries concurrently")
+    void testGetShopDetailsRunsConcurrently() {
+        // Arrange
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        ShopDto shop = new ShopDto(1L, "Test Shop", "123 Test St", "Test City");
+        EntryDto entry = new EntryDto();
+        when(shopService.getById(1L)).thenAnswer(invocation -> awaitBoth(bothStarted, shop));
+        when(shopService.getEntriesById(1L)).thenAnswer(invocation -> awaitBoth(bothStarted, List.of(entry)));
+
+        // Act
+        ShopDetailsPage page = pageModelService.getShopDetails(1L);
+
+        // Assert
+        assertThat(page.getShop()).isSameAs(shop);
+        assertThat(page.getEntries()).containsExactly(entry);
+    }
+
+    @Test
+    @DisplayName("getProductDetails should read the catalog inline and only hand the localization query to the executor")
+    void testGetProductDetails() {
+        // Arrange
+        CustomUserDetails currentUser = new CustomUserDetails(new AppUser());
+        ProductDto product = new ProductDto();
+        ProductLocalizationDto localization = new ProductLocalizationDto();
+        Thread caller = Thread.currentThread();
+        when(productService.getProductDetailsById(1L)).thenAnswer(invocation -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            return product;
+        });
+        when(productService.getLocalizationsForCurrentUser(1L, currentUser)).thenAnswer(invocation -> {
+            assertThat(Thread.currentThread()).isNotSameAs(caller);
+            return List.of(localization);
+        });
+
+        // Act
+        ProductDetailsPage page = pageModelService.getProductDetails(1L, currentUser);
+
+        // Assert
+        assertThat(page.getProduct()).isSameAs(product);
+        assertThat(page.getLocalizations()).containsExactly(localization);
+    }
+
+    @Test
+    @DisplayName("getShopDetails should rethrow the underlying exception when the shop is missing")
+    void testGetShopDetailsNotFound() {
+        // Arrange
+        when(shopService.getById(99L)).thenThrow(new NoSuchElementException());
+
+        // Act & Assert
+        assertThatThrownBy(() -> pageModelService.getShopDetails(99L)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("getShopDetails should fail with a timeout when a read does not finish in time")
+    void testGetShopDetailsTimesOut() {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        PageModelService impatient = new PageModelService(shopService, productService, executor, Duration.ofMillis(100));
+        when(shopService.getById(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new ShopDto(1L, "Test Shop", "123 Test St", "Test City");
+        });
+
+        // Act & Assert
+        try {
+            assertThatThrownBy(() -> impatient.getShopDetails(1L))
+                    .isInstanceOf(PageLoadTimeoutException.class)
+                    .hasMessageContaining("PT0.1S");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("getShopDetails should run a read on the request thread when the fan-out pool is saturated")
+    void testGetShopDetailsCallerRunsWhenSaturated() {
+        // Arrange
+        ThreadPoolTaskExecutor saturated = new PageFanOutConfig().pageFanOutExecutor(1, 0);
+        saturated.initialize();
+        PageModelService service = new PageModelService(shopService, productService, saturated, Duration.ofSeconds(5));
+        CountDownLatch entriesLoaded = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        ShopDto shop = new ShopDto(1L, "Test Shop", "123 Test St", "Test City");
+        when(shopService.getById(1L)).thenAnswer(invocation -> {
+            entriesLoaded.await(5, TimeUnit.SECONDS);
+            return shop;
+        });
+        when(shopService.getEntriesById(1L)).thenAnswer(invocation -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            entriesLoaded.countDown();
+            return List.of();
+        });
+
+        // Act
+        try {
+            ShopDetailsPage page = service.getShopDetails(1L);
+
+            // Assert
+            assertThat(page.getShop()).isSameAs(shop);
+            assertThat(page.getEntries()).isEmpty();
+        } finally {
+            saturated.shutdown();
+        }
+    }
+
+    private static <T> T awaitBoth(CountDownLatch latch, T result) throws InterruptedException {
+        latch.countDown();
+        if (!latch.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Queries did not run concurrently");
+        }
+        return result;
+    }
+}
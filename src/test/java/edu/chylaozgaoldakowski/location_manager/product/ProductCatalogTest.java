@@ -0,0 +1,180 @@
+package edu.chylaozgaoldakowski.location_manager.product;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductCatalog Unit Tests")
+class ProductCatalogTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductCatalog productCatalog;
+
+    @BeforeEach
+    void setUp() {
+        productCatalog = new ProductCatalog(productRepository, new ProductMapper());
+    }
+
+    @Test
+    @DisplayName("getAll should read through once and return products ordered by id")
+    void testReadThrough() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(product(2L, "Bread"), product(1L, "Milk")));
+
+        // Act
+        List<ProductDto> first = productCatalog.getAll();
+        List<ProductDto> second = productCatalog.getAll();
+
+        // Assert
+        assertThat(first).extracting(ProductDto::getName).containsExactly("Milk", "Bread");
+        assertThat(second).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(first);
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("reads and puts should copy products so callers cannot change the catalog")
+    void testCallersCannotMutateSnapshot() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "Milk")));
+        ProductDto added = dto(2L, "Cheese");
+        productCatalog.put(added);
+
+        // Act
+        productCatalog.getAll().getFirst().setName("Changed");
+        productCatalog.findById(1L).orElseThrow().setPrice(BigDecimal.ZERO);
+        productCatalog.getByCategory(Category.DAIRY_PRODUCTS).getFirst().setCategory(Category.BEVERAGES);
+        productCatalog.getByCategory().get(Category.DAIRY_PRODUCTS).getLast().setName("Changed");
+        added.setName("Changed");
+
+        // Assert
+        assertThat(productCatalog.getAll()).extracting(ProductDto::getName).containsExactly("Milk", "Cheese");
+        assertThat(productCatalog.findById(1L).orElseThrow().getPrice()).isEqualByComparingTo("1");
+        assertThat(productCatalog.getByCategory(Category.DAIRY_PRODUCTS)).extracting(ProductDto::getCategory)
+                .containsOnly(Category.DAIRY_PRODUCTS);
+    }
+
+    @Test
+    @DisplayName("put should publish a new snapshot and leave earlier snapshots untouched")
+    void testPutCopyOnWrite() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "Milk")));
+        List<ProductDto> before = productCatalog.getAll();
+
+        // Act
+        productCatalog.put(dto(1L, "Whole Milk"));
+        productCatalog.put(dto(3L, "Cheese"));
+
+        // Assert
+        assertThat(before).extracting(ProductDto::getName).containsExactly("Milk");
+        assertThat(productCatalog.getAll()).extracting(ProductDto::getName).containsExactly("Whole Milk", "Cheese");
+        assertThat(productCatalog.findById(3L)).isPresent();
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("remove should drop the product from the next snapshot")
+    void testRemove() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "Milk"), product(2L, "Bread")));
+
+        // Act
+        productCatalog.remove(1L);
+
+        // Assert
+        assertThat(productCatalog.findById(1L)).isEmpty();
+        assertThat(productCatalog.getAll()).extracting(ProductDto::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("snapshots should be read-only")
+    void testSnapshotImmutable() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(product(1L, "Milk")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productCatalog.getAll().add(dto(2L, "Bread")))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("getByCategory should group products in enum order")
+    void testCategoryIndex() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Milk", Category.DAIRY_PRODUCTS),
+                product(2L, "Bread", Category.BAKERY_PRODUCTS),
+                product(3L, "Apple", Category.FRESH_PRODUCE)));
+
+        // Act
+        var byCategory = productCatalog.getByCategory();
+
+        // Assert
+        assertThat(byCategory.keySet())
+                .containsExactly(Category.FRESH_PRODUCE, Category.BAKERY_PRODUCTS, Category.DAIRY_PRODUCTS);
+        assertThat(productCatalog.getByCategory(Category.SEAFOOD)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("put should move a product between categories and leave the other categories as they were")
+    void testCategoryIndexIncrementalUpdate() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Milk", Category.DAIRY_PRODUCTS),
+                product(2L, "Bread", Category.BAKERY_PRODUCTS),
+                product(3L, "Apple", Category.FRESH_PRODUCE)));
+
+        // Act
+        ProductDto moved = dto(1L, "Frozen Milk");
+        moved.setCategory(Category.FROZEN_FOODS);
+        productCatalog.put(moved);
+
+        // Assert
+        assertThat(productCatalog.getByCategory()).doesNotContainKey(Category.DAIRY_PRODUCTS);
+        assertThat(productCatalog.getByCategory(Category.FROZEN_FOODS)).extracting(ProductDto::getName)
+                .containsExactly("Frozen Milk");
+        assertThat(productCatalog.getByCategory(Category.FRESH_PRODUCE)).extracting(ProductDto::getName).containsExactly("Apple");
+    }
+
+    @Test
+    @DisplayName("remove should drop empty categories from the index")
+    void testCategoryIndexRemove() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Milk", Category.DAIRY_PRODUCTS),
+                product(2L, "Cheese", Category.DAIRY_PRODUCTS),
+                product(3L, "Bread", Category.BAKERY_PRODUCTS)));
+
+        // Act
+        productCatalog.remove(3L);
+        productCatalog.remove(1L);
+
+        // Assert
+        assertThat(productCatalog.getByCategory().keySet()).containsExactly(Category.DAIRY_PRODUCTS);
+        assertThat(productCatalog.getByCategory(Category.DAIRY_PRODUCTS)).extracting(ProductDto::getId).containsExactly(2L);
+    }
+
+    private static Product product(Long id, String name) {
+        return product(id, name, Category.DAIRY_PRODUCTS);
+    }
+
+    private static Product product(Long id, String name, Category category) {
+        return new Product(id, name, "Manufacturer", category, "CODE-" + id, null, BigDecimal.ONE, List.of());
+    }
+
+    private static ProductDto dto(Long id, String name) {
+        return new ProductDto(id, name, "Manufacturer", Category.DAIRY_PRODUCTS, "CODE-" + id, null, BigDecimal.ONE);
+    }
+}
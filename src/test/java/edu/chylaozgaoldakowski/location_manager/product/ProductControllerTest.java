@@ -1,6 +1,9 @@
 package edu.chylaozgaoldakowski.location_manager.product;
 
 import edu.chylaozgaoldakowski.location_manager.config.SecurityConfig;
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
+import edu.chylaozgaoldakowski.location_manager.page.IPageModelService;
+import edu.chylaozgaoldakowski.location_manager.page.ProductDetailsPage;
 import edu.chylaozgaoldakowski.location_manager.shop.ShopDto;
 import edu.chylaozgaoldakowski.location_manager.user.AppUser;
 import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
@@ -11,14 +14,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -38,6 +45,9 @@ class ProductControllerTest {
     @MockBean(name = "ProductService")
     private ProductService productService;
 
+    @MockBean(name = "PageModelService")
+    private IPageModelService pageModelService;
+
     private ProductDto testProductDto;
     private List<ProductDto> testProducts;
     private CustomUserDetails testUserDetails;
@@ -78,7 +88,10 @@ class ProductControllerTest {
     @WithMockUser
     void testGetProducts() throws Exception {
         // Arrange
-        when(productService.getAllProducts()).thenReturn(testProducts);
+        Map<Category, List<ProductDto>> productsByCategory = new EnumMap<>(Category.class);
+        productsByCategory.put(Category.FRESH_PRODUCE, List.of(testProductDto));
+        productsByCategory.put(Category.BAKERY_PRODUCTS, List.of(testProducts.get(1)));
+        when(productService.getProductsByCategory()).thenReturn(productsByCategory);
 
         // Act & Assert
         mockMvc.perform(get("/products"))
@@ -86,9 +99,76 @@ class ProductControllerTest {
                 .andExpect(view().name("product/product-list"))
                 .andExpect(model().attributeExists("productsByCategory"))
                 .andExpect(model().attribute("productsByCategory",
-                        org.hamcrest.Matchers.instanceOf(Map.class)));
+                        org.hamcrest.Matchers.instanceOf(Map.class)))
+                .andExpect(model().attribute("products", List.of(testProductDto)))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Test Product")))
+                .andExpect(content().string(org.hamcrest.Matchers.not(
+                        org.hamcrest.Matchers.containsString("Test Product 2"))))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("/products/category/BAKERY_PRODUCTS")));
+
+        verify(productService).getProductsByCategory();
+        verify(productService, never()).getAllProducts();
+    }
+
+    @Test
+    @DisplayName("GET /products/category/{category} - should render only that category's table")
+    @WithMockUser
+    void testGetProductsInCategory() throws Exception {
+        // Arrange
+        when(productService.getProductsByCategory(Category.BAKERY_PRODUCTS)).thenReturn(List.of(testProducts.get(1)));
+
+        // Act & Assert
+        mockMvc.perform(get("/products/category/{category}", "BAKERY_PRODUCTS"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("products", List.of(testProducts.get(1))))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Test Product 2")))
+                .andExpect(content().string(org.hamcrest.Matchers.not(
+                        org.hamcrest.Matchers.containsString("<html"))));
+
+        verify(productService).getProductsByCategory(Category.BAKERY_PRODUCTS);
+    }
+
+    @Test
+    @DisplayName("GET /products/{id}/stock - should return aggregated stock as JSON for admin")
+    @WithMockUser(roles = "ADMIN")
+    void testGetProductStock() throws Exception {
+        // Arrange
+        StockSummaryDto summary = new StockSummaryDto(2, 15, new BigDecimal("30.00"),
+                List.of(new ShopStockDto(3L, "Bravo Shop", "Other City", 10, new BigDecimal("20.00"))));
+        when(productService.getStockSummary(1L, 3)).thenReturn(summary);
+
+        // Act & Assert
+        mockMvc.perform(get("/products/{id}/stock", 1L).param("top", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shopCount").value(2))
+                .andExpect(jsonPath("$.totalAmount").value(15))
+                .andExpect(jsonPath("$.topShops[0].shopName").value("Bravo Shop"));
+    }
+
+    @Test
+    @DisplayName("GET /products/category/{category}/stock - should default to the top five shops")
+    @WithMockUser(roles = "ADMIN")
+    void testGetCategoryStock() throws Exception {
+        // Arrange
+        when(productService.getStockSummary(Category.BAKERY_PRODUCTS, 5)).thenReturn(new StockSummaryDto());
+
+        // Act & Assert
+        mockMvc.perform(get("/products/category/{category}/stock", "BAKERY_PRODUCTS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.topShops").isEmpty());
+
+        verify(productService).getStockSummary(Category.BAKERY_PRODUCTS, 5);
+    }
 
-        verify(productService).getAllProducts();
+    @Test
+    @DisplayName("GET /products/{id}/stock - should deny access for regular user")
+    void testGetProductStockDeniedForUser() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/products/{id}/stock", 1L)
+                        .with(user(testUserDetails)))
+                .andExpect(status().isForbidden());
+
+        verify(productService, never()).getStockSummary(anyLong(), anyInt());
     }
 
     @Test
@@ -121,20 +201,18 @@ class ProductControllerTest {
         localizationDto.setAmount(10);
         localizationDto.setTotalPrice(new BigDecimal("999.90"));
 
-        when(productService.getProductDetailsById(1L)).thenReturn(testProductDto);
-        when(productService.getLocalizationsForCurrentUser(eq(1L), any(CustomUserDetails.class)))
-                .thenReturn(List.of(localizationDto));
+        when(pageModelService.getProductDetails(eq(1L), any(CustomUserDetails.class)))
+                .thenReturn(new ProductDetailsPage(testProductDto, List.of(localizationDto)));
 
         // Act & Assert
         mockMvc.perform(get("/products/{id}", 1L)
                         .with(user(testUserDetails)))
                 .andExpect(status().isOk())
                 .andExpect(view().name("product/product-details"))
-                .andExpect(model().attributeExists("product"))
-                .andExpect(model().attributeExists("entries"));
+                .andExpect(model().attribute("product", testProductDto))
+                .andExpect(model().attribute("entries", List.of(localizationDto)));
 
-        verify(productService).getProductDetailsById(1L);
-        verify(productService).getLocalizationsForCurrentUser(eq(1L), any(CustomUserDetails.class));
+        verify(pageModelService).getProductDetails(eq(1L), any(CustomUserDetails.class));
     }
 
     @Test
@@ -159,6 +237,28 @@ class ProductControllerTest {
         verify(productService).saveProduct(any(ProductDto.class));
     }
 
+    @Test
+    @DisplayName("POST /products - should return form with error when product code is taken")
+    @WithMockUser(roles = "ADMIN")
+    void testAddProductDuplicateCode() throws Exception {
+        // Arrange
+        doThrow(new DataIntegrityViolationException("uk_product_product_code"))
+                .when(productService).saveProduct(any(ProductDto.class));
+
+        // Act & Assert
+        mockMvc.perform(post("/products")
+                        .with(csrf())
+                        .param("name", "New Product")
+                        .param("manufacturer", "New Manufacturer")
+                        .param("category", "FRESH_PRODUCE")
+                        .param("productCode", "TEST-001")
+                        .param("price", "79.99"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("product/product-form"))
+                .andExpect(model().attributeExists("categories"))
+                .andExpect(model().attributeHasFieldErrors("product", "productCode"));
+    }
+
     @Test
     @DisplayName("POST /products - should return form with errors when validation fails")
     @WithMockUser(roles = "ADMIN")
@@ -260,13 +360,14 @@ class ProductControllerTest {
     @WithMockUser(roles = "ADMIN")
     void testDeleteProduct() throws Exception {
         // Arrange
-        doNothing().when(productService).deleteProductById(1L);
+        when(productService.deleteProductById(1L)).thenReturn(new DeletionResult(true, 12));
 
         // Act & Assert
         mockMvc.perform(post("/products/delete/{id}", 1L)
                         .with(csrf()))
                 .andExpect(status().is3xxRedirection())
-                .andExpect(redirectedUrl("/products"));
+                .andExpect(redirectedUrl("/products"))
+                .andExpect(flash().attribute("message", "Product deleted. Its 12 entries will be purged in the background."));
 
         verify(productService).deleteProductById(1L);
     }
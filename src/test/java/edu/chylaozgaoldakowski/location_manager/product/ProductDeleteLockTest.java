@@ -0,0 +1,100 @@
+package edu.chylaozgaoldakowski.location_manager.product;
+
+import edu.chylaozgaoldakowski.location_manager.config.PostgresTestConfiguration;
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
+import edu.chylaozgaoldakowski.location_manager.entry.Entry;
+import edu.chylaozgaoldakowski.location_manager.entry.EntryRepository;
+import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopInventory;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopInventoryDto;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Import({PostgresTestConfiguration.class, ProductService.class, ProductMapper.class, ProductCatalog.class, ShopInventory.class})
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ProductService Delete Locking Tests")
+class ProductDeleteLockTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private ShopInventory shopInventory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("deleteProductById should wait for an entry write holding the product and subtract its entry too")
+    void testDeleteWaitsForConcurrentEntryWrite() throws Exception {
+        // Arrange
+        Long shopId = shopRepository.save(new Shop(null, "Lock Shop", "1 Test St", "Test City", null)).getId();
+        Long productId = productRepository.save(new Product(null, "Milk", "Dairy Co", Category.DAIRY_PRODUCTS,
+                "LOCK-001", null, new BigDecimal("5.00"), null)).getId();
+
+        // Act
+        TransactionStatus entryWrite = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        productRepository.findPricesForShareByIdIn(List.of(productId));
+        CompletableFuture<DeletionResult> deletion = CompletableFuture.supplyAsync(() -> productService.deleteProductById(productId));
+        assertThatThrownBy(() -> deletion.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        entryRepository.save(new Entry(null, shopRepository.getReferenceById(shopId),
+                productRepository.getReferenceById(productId), 3, new BigDecimal("15.00")));
+        shopInventory.record(shopId, Category.DAIRY_PRODUCTS, 1, 3, new BigDecimal("15.00"));
+        transactionManager.commit(entryWrite);
+
+        // Assert
+        assertThat(deletion.get(10, TimeUnit.SECONDS).isDeleted()).isTrue();
+        ShopInventoryDto inventory = shopInventory.getInventory(shopId);
+        assertThat(inventory.getEntryCount()).isZero();
+        assertThat(inventory.getTotalAmount()).isZero();
+        assertThat(inventory.getTotalValue()).isEqualByComparingTo("0");
+        assertThat(productRepository.findById(productId)).isEmpty();
+    }
+
+    @AfterEach
+    void deleteCommittedRows() {
+        jdbcTemplate.update("delete from entry where product_id in (select id from product where product_code = 'LOCK-001')");
+        jdbcTemplate.update("delete from shop_inventory_summary where shop_id in (select id from shop where name = 'Lock Shop')");
+        jdbcTemplate.update("delete from product where product_code = 'LOCK-001'");
+        jdbcTemplate.update("delete from shop where name = 'Lock Shop'");
+    }
+}
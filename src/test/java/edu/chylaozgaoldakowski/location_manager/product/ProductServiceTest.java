@@ -1,9 +1,12 @@
 package edu.chylaozgaoldakowski.location_manager.product;
 
-import edu.chylaozgaoldakowski.location_manager.entry.Entry;
-import edu.chylaozgaoldakowski.location_manager.entry.EntryMapper;
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
 import edu.chylaozgaoldakowski.location_manager.entry.EntryRepository;
+import edu.chylaozgaoldakowski.location_manager.entry.ShopStockRankView;
+import edu.chylaozgaoldakowski.location_manager.entry.ShopStockView;
+import edu.chylaozgaoldakowski.location_manager.entry.StockTotalsView;
 import edu.chylaozgaoldakowski.location_manager.shop.Shop;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopInventory;
 import edu.chylaozgaoldakowski.location_manager.shop.ShopDto;
 import edu.chylaozgaoldakowski.location_manager.user.AppUser;
 import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
@@ -11,10 +14,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -41,9 +47,8 @@ class ProductServiceTest {
     private ProductMapper productMapper;
 
     @Mock
-    private EntryMapper entryMapper;
+    private ShopInventory shopInventory;
 
-    @InjectMocks
     private ProductService productService;
 
     private Product testProduct;
@@ -54,6 +59,9 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
+        productService = new ProductService(productRepository, entryRepository, productMapper,
+                new ProductCatalog(productRepository, productMapper), shopInventory);
+
         testShop = new Shop();
         testShop.setId(1L);
         testShop.setName("Test Shop");
@@ -111,7 +119,7 @@ class ProductServiceTest {
 
         // Assert
         assertThat(result).hasSize(2);
-        assertThat(result).containsExactly(testProductDto, productDto2);
+        assertThat(result).usingRecursiveFieldByFieldElementComparator().containsExactly(testProductDto, productDto2);
         verify(productRepository).findAll();
         verify(productMapper, times(2)).toProductDetailsDto(any(Product.class));
     }
@@ -130,11 +138,27 @@ class ProductServiceTest {
         verify(productRepository).findAll();
     }
 
+    @Test
+    @DisplayName("getAllProducts should load the catalog once and serve later reads from the snapshot")
+    void testGetAllProductsReadThrough() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(testProduct));
+        when(productMapper.toProductDetailsDto(testProduct)).thenReturn(testProductDto);
+
+        // Act
+        List<ProductDto> first = productService.getAllProducts();
+        List<ProductDto> second = productService.getAllProducts();
+
+        // Assert
+        assertThat(second).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(first);
+        verify(productRepository, times(1)).findAll();
+    }
+
     @Test
     @DisplayName("getProductDetailsById should return product DTO when product exists")
     void testGetProductDetailsById() {
         // Arrange
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findAll()).thenReturn(List.of(testProduct));
         when(productMapper.toProductDetailsDto(testProduct)).thenReturn(testProductDto);
 
         // Act
@@ -144,7 +168,7 @@ class ProductServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getName()).isEqualTo("Test Product");
-        verify(productRepository).findById(1L);
+        verify(productRepository, never()).findById(any());
         verify(productMapper).toProductDetailsDto(testProduct);
     }
 
@@ -152,28 +176,80 @@ class ProductServiceTest {
     @DisplayName("getProductDetailsById should throw exception when product does not exist")
     void testGetProductDetailsByIdNotFound() {
         // Arrange
-        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+        when(productRepository.findAll()).thenReturn(List.of());
 
         // Act & Assert
         assertThatThrownBy(() -> productService.getProductDetailsById(999L))
                 .isInstanceOf(NoSuchElementException.class);
-        verify(productRepository).findById(999L);
+        verify(productRepository, never()).findById(any());
         verify(productMapper, never()).toProductDetailsDto(any());
     }
 
     @Test
-    @DisplayName("getLocalizationsForCurrentUser should return empty list when user is null")
-    void testGetLocalizationsForCurrentUserNull() {
+    @DisplayName("getStockSummary should combine aggregated totals with the top shops")
+    void testGetStockSummaryForProduct() {
+        // Arrange
+        ShopStockRankView rank = mock(ShopStockRankView.class);
+        when(rank.getShopId()).thenReturn(1L);
+        when(rank.getShopName()).thenReturn("Test Shop");
+        when(rank.getTotalAmount()).thenReturn(10L);
+        when(rank.getTotalValue()).thenReturn(new BigDecimal("999.90"));
+        StockTotalsView totals = mock(StockTotalsView.class);
+        when(totals.getShopCount()).thenReturn(1L);
+        when(totals.getTotalAmount()).thenReturn(10L);
+        when(totals.getTotalValue()).thenReturn(new BigDecimal("999.90"));
+        when(productRepository.findAll()).thenReturn(List.of(testProduct));
+        when(productMapper.toProductDetailsDto(testProduct)).thenReturn(testProductDto);
+        when(entryRepository.findStockTotalsForProduct(1L)).thenReturn(totals);
+        when(entryRepository.findTopShopsForProduct(1L, Limit.of(3))).thenReturn(List.of(rank));
+
+        // Act
+        StockSummaryDto result = productService.getStockSummary(1L, 3);
+
+        // Assert
+        assertThat(result.getShopCount()).isEqualTo(1);
+        assertThat(result.getTotalAmount()).isEqualTo(10);
+        assertThat(result.getTotalValue()).isEqualByComparingTo("999.90");
+        assertThat(result.getTopShops()).extracting(ShopStockDto::getShopName).containsExactly("Test Shop");
+        verify(entryRepository, never()).findByProduct_Id(any());
+    }
+
+    @Test
+    @DisplayName("getStockSummary should throw exception when product does not exist")
+    void testGetStockSummaryForMissingProduct() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of());
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getStockSummary(999L, 5))
+                .isInstanceOf(NoSuchElementException.class);
+        verifyNoInteractions(entryRepository);
+    }
+
+    @Test
+    @DisplayName("getStockSummary should cap the number of top shops for a category")
+    void testGetStockSummaryForCategoryCapsTopShops() {
         // Arrange
-        Entry entry = createEntry(1L, testShop, testProduct, 10, new BigDecimal("999.90"));
-        when(entryRepository.findByProduct_Id(1L)).thenReturn(List.of(entry));
+        when(entryRepository.findStockTotalsForCategory(Category.FRESH_PRODUCE)).thenReturn(mock(StockTotalsView.class));
 
+        // Act
+        productService.getStockSummary(Category.FRESH_PRODUCE, 1000);
+        productService.getStockSummary(Category.FRESH_PRODUCE, 0);
+
+        // Assert
+        verify(entryRepository).findTopShopsForCategory(Category.FRESH_PRODUCE, Limit.of(ProductService.MAX_TOP_SHOPS));
+        verify(entryRepository).findTopShopsForCategory(Category.FRESH_PRODUCE, Limit.of(1));
+    }
+
+    @Test
+    @DisplayName("getLocalizationsForCurrentUser should return empty list without querying when user is null")
+    void testGetLocalizationsForCurrentUserNull() {
         // Act
         List<ProductLocalizationDto> result = productService.getLocalizationsForCurrentUser(1L, null);
 
         // Assert
         assertThat(result).isEmpty();
-        verify(entryRepository).findByProduct_Id(1L);
+        verifyNoInteractions(entryRepository);
     }
 
     @Test
@@ -188,22 +264,13 @@ class ProductServiceTest {
         adminUser.setAssignedShop(testShop);
         CustomUserDetails adminUserDetails = new CustomUserDetails(adminUser);
 
-        Shop shop2 = new Shop();
-        shop2.setId(2L);
-        shop2.setName("Shop 2");
-
-        Entry entry1 = createEntry(1L, testShop, testProduct, 10, new BigDecimal("999.90"));
-        Entry entry2 = createEntry(2L, shop2, testProduct, 5, new BigDecimal("499.95"));
-
         ShopDto shopDto1 = new ShopDto(1L, "Test Shop", "123 Test St", "Test City");
         ShopDto shopDto2 = new ShopDto(2L, "Shop 2", "456 Test Ave", "Test City 2");
 
         ProductLocalizationDto localization1 = new ProductLocalizationDto(shopDto1, 10, new BigDecimal("999.90"));
         ProductLocalizationDto localization2 = new ProductLocalizationDto(shopDto2, 5, new BigDecimal("499.95"));
 
-        when(entryRepository.findByProduct_Id(1L)).thenReturn(List.of(entry1, entry2));
-        when(entryMapper.toProductLocalizationDto(entry1)).thenReturn(localization1);
-        when(entryMapper.toProductLocalizationDto(entry2)).thenReturn(localization2);
+        when(entryRepository.findLocalizationsByProductId(1L)).thenReturn(List.of(localization1, localization2));
 
         // Act
         List<ProductLocalizationDto> result = productService.getLocalizationsForCurrentUser(1L, adminUserDetails);
@@ -211,29 +278,18 @@ class ProductServiceTest {
         // Assert
         assertThat(result).hasSize(2);
         assertThat(result).containsExactly(localization1, localization2);
-        verify(entryRepository).findByProduct_Id(1L);
+        verify(entryRepository).findLocalizationsByProductId(1L);
+        verify(entryRepository, never()).findLocalizationsByProductIdAndShopId(any(), any());
     }
 
     @Test
-    @DisplayName("getLocalizationsForCurrentUser should return only user's shop localizations for regular user")
+    @DisplayName("getLocalizationsForCurrentUser should query only user's shop localizations for regular user")
     void testGetLocalizationsForCurrentUserRegularUser() {
         // Arrange
-        Shop shop2 = new Shop();
-        shop2.setId(2L);
-        shop2.setName("Shop 2");
-
-        Entry entry1 = createEntry(1L, testShop, testProduct, 10, new BigDecimal("999.90"));
-        Entry entry2 = createEntry(2L, shop2, testProduct, 5, new BigDecimal("499.95"));
-
         ShopDto shopDto1 = new ShopDto(1L, "Test Shop", "123 Test St", "Test City");
-        ShopDto shopDto2 = new ShopDto(2L, "Shop 2", "456 Test Ave", "Test City 2");
-
         ProductLocalizationDto localization1 = new ProductLocalizationDto(shopDto1, 10, new BigDecimal("999.90"));
-        ProductLocalizationDto localization2 = new ProductLocalizationDto(shopDto2, 5, new BigDecimal("499.95"));
 
-        when(entryRepository.findByProduct_Id(1L)).thenReturn(List.of(entry1, entry2));
-        when(entryMapper.toProductLocalizationDto(entry1)).thenReturn(localization1);
-        when(entryMapper.toProductLocalizationDto(entry2)).thenReturn(localization2);
+        when(entryRepository.findLocalizationsByProductIdAndShopId(1L, 1L)).thenReturn(List.of(localization1));
 
         // Act
         List<ProductLocalizationDto> result = productService.getLocalizationsForCurrentUser(1L, testUserDetails);
@@ -242,29 +298,36 @@ class ProductServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result).containsExactly(localization1);
         assertThat(result.get(0).getShop().getId()).isEqualTo(1L);
-        verify(entryRepository).findByProduct_Id(1L);
+        verify(entryRepository).findLocalizationsByProductIdAndShopId(1L, 1L);
+        verify(entryRepository, never()).findLocalizationsByProductId(any());
     }
 
     @Test
     @DisplayName("getLocalizationsForCurrentUser should return empty list when no entries match user's shop")
     void testGetLocalizationsForCurrentUserNoMatch() {
         // Arrange
-        Shop shop2 = new Shop();
-        shop2.setId(2L);
+        when(entryRepository.findLocalizationsByProductIdAndShopId(1L, 1L)).thenReturn(List.of());
 
-        Entry entry = createEntry(1L, shop2, testProduct, 10, new BigDecimal("999.90"));
-        ShopDto shopDto2 = new ShopDto(2L, "Shop 2", "456 Test Ave", "Test City 2");
-        ProductLocalizationDto localization = new ProductLocalizationDto(shopDto2, 10, new BigDecimal("999.90"));
+        // Act
+        List<ProductLocalizationDto> result = productService.getLocalizationsForCurrentUser(1L, testUserDetails);
 
-        when(entryRepository.findByProduct_Id(1L)).thenReturn(List.of(entry));
-        when(entryMapper.toProductLocalizationDto(entry)).thenReturn(localization);
+        // Assert
+        assertThat(result).isEmpty();
+        verify(entryRepository).findLocalizationsByProductIdAndShopId(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("getLocalizationsForCurrentUser should return empty list without querying when user has no shop")
+    void testGetLocalizationsForCurrentUserWithoutShop() {
+        // Arrange
+        testUser.setAssignedShop(null);
 
         // Act
-        List<ProductLocalizationDto> result = productService.getLocalizationsForCurrentUser(1L, testUserDetails);
+        List<ProductLocalizationDto> result = productService.getLocalizationsForCurrentUser(1L, new CustomUserDetails(testUser));
 
         // Assert
         assertThat(result).isEmpty();
-        verify(entryRepository).findByProduct_Id(1L);
+        verifyNoInteractions(entryRepository);
     }
 
     @Test
@@ -284,7 +347,10 @@ class ProductServiceTest {
             return null;
         }).when(productMapper).updateEntityFromDto(any(Product.class), eq(testProductDto));
 
+        newProduct.setId(1L);
+        when(productRepository.findAll()).thenReturn(List.of());
         when(productRepository.save(any(Product.class))).thenReturn(newProduct);
+        when(productMapper.toProductDetailsDto(newProduct)).thenReturn(testProductDto);
 
         // Act
         productService.saveProduct(testProductDto);
@@ -292,19 +358,35 @@ class ProductServiceTest {
         // Assert
         verify(productMapper).updateEntityFromDto(any(Product.class), eq(testProductDto));
         verify(productRepository).save(any(Product.class));
+        assertThat(productService.getAllProducts()).usingRecursiveFieldByFieldElementComparator().containsExactly(testProductDto);
+        verify(productRepository, times(1)).findAll();
     }
 
     @Test
     @DisplayName("deleteProductById should delete product when it exists")
     void testDeleteProductById() {
         // Arrange
-        doNothing().when(productRepository).deleteById(1L);
+        when(productRepository.findAll()).thenReturn(List.of(testProduct));
+        when(productMapper.toProductDetailsDto(testProduct)).thenReturn(testProductDto);
+        when(productRepository.findForUpdateById(1L)).thenReturn(Optional.of(testProduct));
+        List<ShopStockView> stock = List.of(mock(ShopStockView.class));
+        when(entryRepository.findStockByShopForProduct(1L)).thenReturn(stock);
+        when(entryRepository.countByProduct_Id(1L)).thenReturn(4L);
+        when(productRepository.deleteProductById(1L)).thenReturn(1);
+        List<ProductDto> before = productService.getAllProducts();
 
         // Act
-        productService.deleteProductById(1L);
+        DeletionResult result = productService.deleteProductById(1L);
 
         // Assert
-        verify(productRepository).deleteById(1L);
+        assertThat(result.isDeleted()).isTrue();
+        assertThat(result.getEntriesToPurge()).isEqualTo(4);
+        verify(shopInventory).recordRemoval(stock, Category.FRESH_PRODUCE);
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).deleteById(any());
+        assertThat(productService.getAllProducts()).isEmpty();
+        assertThat(before).usingRecursiveFieldByFieldElementComparator().containsExactly(testProductDto);
+        verify(productRepository, times(1)).findAll();
     }
 
     @Test
@@ -320,7 +402,7 @@ class ProductServiceTest {
         updatedDto.setDescription("Updated Description");
         updatedDto.setPrice(new BigDecimal("149.99"));
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findForUpdateById(1L)).thenReturn(Optional.of(testProduct));
         doAnswer(invocation -> {
             Product product = invocation.getArgument(0);
             ProductDto dto = invocation.getArgument(1);
@@ -332,15 +414,71 @@ class ProductServiceTest {
             product.setPrice(dto.getPrice());
             return null;
         }).when(productMapper).updateEntityFromDto(testProduct, updatedDto);
-        when(productRepository.save(testProduct)).thenReturn(testProduct);
+        when(productRepository.saveAndFlush(testProduct)).thenReturn(testProduct);
+        when(productRepository.findAll()).thenReturn(List.of());
+        when(productMapper.toProductDetailsDto(testProduct)).thenReturn(updatedDto);
+        when(entryRepository.findStockByShopForProduct(1L)).thenReturn(List.of());
 
         // Act
         productService.updateProduct(1L, updatedDto);
 
         // Assert
-        verify(productRepository).findById(1L);
+        verify(productRepository).findForUpdateById(1L);
+        verify(shopInventory).recordRecategorization(List.of(), Category.FRESH_PRODUCE, Category.BAKERY_PRODUCTS);
         verify(productMapper).updateEntityFromDto(testProduct, updatedDto);
-        verify(productRepository).save(testProduct);
+        verify(productRepository).saveAndFlush(testProduct);
+        assertThat(productService.getProductDetailsById(1L).getName()).isEqualTo("Updated Product");
+    }
+
+    @Test
+    @DisplayName("updateProduct should leave the catalog and inventory untouched when the product code is taken")
+    void testUpdateProductDuplicateCode() {
+        // Arrange
+        ProductDto updatedDto = new ProductDto();
+        updatedDto.setProductCode("TAKEN-001");
+        updatedDto.setCategory(Category.BAKERY_PRODUCTS);
+
+        when(productRepository.findAll()).thenReturn(List.of(testProduct));
+        when(productMapper.toProductDetailsDto(testProduct)).thenReturn(testProductDto);
+        productService.getAllProducts();
+        when(productRepository.findForUpdateById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAndFlush(testProduct))
+                .thenThrow(new DataIntegrityViolationException("uk_product_product_code"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.updateProduct(1L, updatedDto))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(productService.getProductDetailsById(1L).getProductCode()).isEqualTo("TEST-001");
+        verifyNoInteractions(shopInventory);
+    }
+
+    @Test
+    @DisplayName("updateProduct should publish the change to the catalog only once the transaction commits")
+    void testUpdateProductAppliesCatalogAfterCommit() {
+        // Arrange
+        ProductDto updatedDto = new ProductDto();
+        updatedDto.setId(1L);
+        updatedDto.setName("Updated Product");
+        updatedDto.setCategory(Category.FRESH_PRODUCE);
+
+        when(productRepository.findAll()).thenReturn(List.of(testProduct));
+        when(productMapper.toProductDetailsDto(testProduct)).thenReturn(testProductDto, updatedDto);
+        productService.getAllProducts();
+        when(productRepository.findForUpdateById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAndFlush(testProduct)).thenReturn(testProduct);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            productService.updateProduct(1L, updatedDto);
+
+            // Assert
+            assertThat(productService.getProductDetailsById(1L).getName()).isEqualTo("Test Product");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(productService.getProductDetailsById(1L).getName()).isEqualTo("Updated Product");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -350,23 +488,13 @@ class ProductServiceTest {
         ProductDto updatedDto = new ProductDto();
         updatedDto.setName("Updated Product");
 
-        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+        when(productRepository.findForUpdateById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> productService.updateProduct(999L, updatedDto))
                 .isInstanceOf(NoSuchElementException.class);
-        verify(productRepository).findById(999L);
+        verify(productRepository).findForUpdateById(999L);
         verify(productMapper, never()).updateEntityFromDto(any(), any());
         verify(productRepository, never()).save(any());
     }
-
-    private Entry createEntry(Long id, Shop shop, Product product, int amount, BigDecimal totalPrice) {
-        Entry entry = new Entry();
-        entry.setId(id);
-        entry.setShop(shop);
-        entry.setProduct(product);
-        entry.setAmount(amount);
-        entry.setTotalPrice(totalPrice);
-        return entry;
-    }
 }
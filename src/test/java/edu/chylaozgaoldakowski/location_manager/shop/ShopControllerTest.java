@@ -1,7 +1,12 @@
 package edu.chylaozgaoldakowski.location_manager.shop;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.chylaozgaoldakowski.location_manager.config.SecurityConfig;
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
 import edu.chylaozgaoldakowski.location_manager.entry.EntryDto;
+import edu.chylaozgaoldakowski.location_manager.page.IPageModelService;
+import edu.chylaozgaoldakowski.location_manager.page.ShopDetailsPage;
+import edu.chylaozgaoldakowski.location_manager.product.Category;
 import edu.chylaozgaoldakowski.location_manager.user.AppUser;
 import edu.chylaozgaoldakowski.location_manager.user.CustomUserDetails;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,17 +18,25 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import jakarta.servlet.ServletException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +52,9 @@ class ShopControllerTest {
     @MockBean(name = "ShopService")
     private IShopService shopService;
 
+    @MockBean(name = "PageModelService")
+    private IPageModelService pageModelService;
+
     private ShopDto testShopDto;
     private List<ShopDto> testShops;
     private ShopData testShopData;
@@ -96,16 +112,38 @@ class ShopControllerTest {
     @WithMockUser
     void testGetShops() throws Exception {
         // Arrange
-        when(shopService.getAll()).thenReturn(testShops);
+        when(shopService.getPage(ShopSort.NAME, null, null, 20))
+                .thenReturn(new ShopPage(testShops, ShopSort.NAME, 20, false, null, null, Map.of()));
 
         // Act & Assert
         mockMvc.perform(get("/shops"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("shop/shop-list"))
-                .andExpect(model().attributeExists("shops"))
+                .andExpect(model().attributeExists("shops", "page"))
                 .andExpect(model().attribute("shops", hasSize(2)));
 
-        verify(shopService).getAll();
+        verify(shopService).getPage(ShopSort.NAME, null, null, 20);
+        verify(shopService, never()).getAll();
+    }
+
+    @Test
+    @DisplayName("GET /shops - should pass keyset cursor and sort to service")
+    @WithMockUser
+    void testGetShopsNextPage() throws Exception {
+        // Arrange
+        when(shopService.getPage(ShopSort.ID, 2L, null, 1))
+                .thenReturn(new ShopPage(List.of(testShops.get(1)), ShopSort.ID, 1, true, 3L, "Test Shop 3", Map.of()));
+
+        // Act & Assert
+        mockMvc.perform(get("/shops")
+                        .param("sort", "ID")
+                        .param("afterId", "2")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("shop/shop-list"))
+                .andExpect(model().attribute("shops", hasSize(1)));
+
+        verify(shopService).getPage(ShopSort.ID, 2L, null, 1);
     }
 
     @Test
@@ -137,19 +175,21 @@ class ShopControllerTest {
         entryDto.setAmount(10);
         entryDto.setTotalPrice(new BigDecimal("999.90"));
 
-        when(shopService.getById(1L)).thenReturn(testShopDto);
-        when(shopService.getEntriesById(1L)).thenReturn(List.of(entryDto));
+        ShopInventoryDto inventory = new ShopInventoryDto(1, 10, new BigDecimal("999.90"), List.of(
+                new CategoryInventoryDto(Category.DAIRY_PRODUCTS, 1, 10, new BigDecimal("999.90"))));
+        when(pageModelService.getShopDetails(1L)).thenReturn(new ShopDetailsPage(testShopDto, List.of(entryDto), inventory));
 
         // Act & Assert
         mockMvc.perform(get("/shops/{id}", 1L)
                         .with(user(testUserDetails)))
                 .andExpect(status().isOk())
                 .andExpect(view().name("shop/shop-details"))
-                .andExpect(model().attributeExists("shop"))
-                .andExpect(model().attributeExists("entries"));
+                .andExpect(model().attribute("shop", testShopDto))
+                .andExpect(model().attribute("entries", hasSize(1)))
+                .andExpect(model().attribute("inventory", inventory))
+                .andExpect(content().string(containsString("DAIRY_PRODUCTS")));
 
-        verify(shopService).getById(1L);
-        verify(shopService).getEntriesById(1L);
+        verify(pageModelService).getShopDetails(1L);
     }
 
     @Test
@@ -286,13 +326,14 @@ class ShopControllerTest {
     @WithMockUser(roles = "ADMIN")
     void testDeleteShop() throws Exception {
         // Arrange
-        doNothing().when(shopService).deleteById(1L);
+        when(shopService.deleteById(1L)).thenReturn(new DeletionResult(true, 7));
 
         // Act & Assert
         mockMvc.perform(post("/shops/delete/{id}", 1L)
                         .with(csrf()))
                 .andExpect(status().is3xxRedirection())
-                .andExpect(redirectedUrl("/shops"));
+                .andExpect(redirectedUrl("/shops"))
+                .andExpect(flash().attribute("message", "Shop deleted. Its 7 entries will be purged in the background."));
 
         verify(shopService).deleteById(1L);
     }
@@ -314,10 +355,19 @@ class ShopControllerTest {
     @WithMockUser
     void testDownloadShopData() throws Exception {
         // Arrange
-        when(shopService.getShopDataById(1L)).thenReturn(testShopData);
-
-        // Act & Assert
-        mockMvc.perform(get("/shops/{id}/shop-data-download", 1L))
+        when(shopService.getById(1L)).thenReturn(testShopDto);
+        doAnswer(invocation -> {
+            new ObjectMapper().writeValue(invocation.getArgument(1, OutputStream.class), testShopData);
+            return null;
+        }).when(shopService).writeShopData(eq(testShopDto), any(OutputStream.class));
+
+        // Act
+        MvcResult asyncResult = mockMvc.perform(get("/shops/{id}/shop-data-download", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(header().exists("Content-Disposition"))
@@ -333,6 +383,21 @@ class ShopControllerTest {
                 .andExpect(jsonPath("$.entries[0].totalPrice").value(999.90))
                 .andExpect(jsonPath("$.entries[0].product.name").value("Test Product"));
 
-        verify(shopService).getShopDataById(1L);
+        verify(shopService).getById(1L);
+        verify(shopService).writeShopData(eq(testShopDto), any(OutputStream.class));
+        verify(shopService, never()).getShopDataById(any());
+    }
+
+    @Test
+    @DisplayName("GET /shops/{id}/shop-data-download - should fail before streaming when shop is missing")
+    @WithMockUser
+    void testDownloadShopDataNotFound() throws Exception {
+        // Arrange
+        when(shopService.getById(999L)).thenThrow(new NoSuchElementException());
+
+        // Act & Assert
+        assertThrows(ServletException.class,
+                () -> mockMvc.perform(get("/shops/{id}/shop-data-download", 999L)));
+        verify(shopService, never()).writeShopData(any(), any());
     }
 }
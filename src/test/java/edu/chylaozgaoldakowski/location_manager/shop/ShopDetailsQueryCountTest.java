@@ -0,0 +1,138 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
+import edu.chylaozgaoldakowski.location_manager.entry.Entry;
+import edu.chylaozgaoldakowski.location_manager.entry.EntryDto;
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.user.PrincipalCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ShopService.class, ShopMapper.class, ShopInventory.class, PrincipalCache.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@DisplayName("Shop Details Query Count Regression Tests")
+class ShopDetailsQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private IShopService shopService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest(name = "{0} entries")
+    @ValueSource(ints = {1, 25, 200})
+    @DisplayName("shop details page should load shop and entries in two statements")
+    void testShopDetailsStatementCount(int entryCount) {
+        // Arrange
+        Long shopId = persistShopWithEntries(entryCount);
+        statistics.clear();
+
+        // Act
+        ShopDto shop = shopService.getById(shopId);
+        List<EntryDto> entries = shopService.getEntriesById(shopId);
+
+        // Assert
+        assertThat(shop.getId()).isEqualTo(shopId);
+        assertThat(entries).hasSize(entryCount);
+        assertThat(entries.getFirst().getProductName()).isEqualTo("Product 0");
+        assertThat(entries.getFirst().getShopId()).isEqualTo(shopId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @ParameterizedTest(name = "{0} entries")
+    @ValueSource(ints = {1, 25, 200})
+    @DisplayName("shop data export should load shop and entries in two statements")
+    void testShopDataStatementCount(int entryCount) {
+        // Arrange
+        Long shopId = persistShopWithEntries(entryCount);
+        statistics.clear();
+
+        // Act
+        ShopData shopData = shopService.getShopDataById(shopId);
+
+        // Assert
+        assertThat(shopData.getEntries()).hasSize(entryCount);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @ParameterizedTest(name = "{0} entries")
+    @ValueSource(ints = {1, 25, 200})
+    @DisplayName("streamed shop data export should read entries in one statement without loading entities")
+    void testStreamedShopDataStatementCount(int entryCount) throws IOException {
+        // Arrange
+        Long shopId = persistShopWithEntries(entryCount);
+        ShopDto shop = shopService.getById(shopId);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        statistics.clear();
+
+        // Act
+        shopService.writeShopData(shop, outputStream);
+
+        // Assert
+        assertThat(outputStream.toString()).startsWith("{\"name\":\"Test Shop\"").contains("\"name\":\"Product 0\"");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @ParameterizedTest(name = "{0} entries")
+    @ValueSource(ints = {1, 25, 200})
+    @DisplayName("deleting a shop should flag it without touching its entries")
+    void testDeleteShopStatementCount(int entryCount) {
+        // Arrange
+        Long shopId = persistShopWithEntries(entryCount);
+        statistics.clear();
+
+        // Act
+        DeletionResult result = shopService.deleteById(shopId);
+
+        // Assert
+        assertThat(result.isDeleted()).isTrue();
+        assertThat(result.getEntriesToPurge()).isEqualTo(entryCount);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(entityManager.find(Shop.class, shopId)).isNull();
+    }
+
+    private Long persistShopWithEntries(int entryCount) {
+        Shop shop = entityManager.persist(new Shop(null, "Test Shop", "123 Test St", "Test City", null));
+        for (int i = 0; i < entryCount; i++) {
+            Product product = entityManager.persist(new Product(null, "Product " + i, "Test Manufacturer",
+                    Category.DAIRY_PRODUCTS, "CODE-" + i, null, new BigDecimal("2.50"), null));
+            entityManager.persist(new Entry(null, shop, product, i + 1, new BigDecimal("2.50").multiply(BigDecimal.valueOf(i + 1))));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return shop.getId();
+    }
+}
@@ -0,0 +1,64 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("ShopInventorySummaryRepository Upsert Tests")
+class ShopInventorySummaryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShopInventorySummaryRepository summaryRepository;
+
+    private Long shopId;
+
+    @BeforeEach
+    void setUp() {
+        shopId = entityManager.persistAndFlush(new Shop(null, "Test Shop", "1 Test St", "Test City", null)).getId();
+    }
+
+    @Test
+    @DisplayName("addDelta should insert the first row and accumulate later deltas")
+    void testAddDelta() {
+        // Act
+        summaryRepository.addDelta(shopId, "DAIRY_PRODUCTS", 1, 5, new BigDecimal("12.50"));
+        summaryRepository.addDelta(shopId, "DAIRY_PRODUCTS", 2, 3, new BigDecimal("7.50"));
+        summaryRepository.addDelta(shopId, "DAIRY_PRODUCTS", -1, -5, new BigDecimal("-12.50"));
+        summaryRepository.addDelta(shopId, "BEVERAGES", 1, 1, new BigDecimal("2.00"));
+        entityManager.clear();
+
+        // Assert
+        List<ShopInventorySummary> rows = summaryRepository.findByIdShopId(shopId);
+        assertThat(rows).hasSize(2);
+        ShopInventorySummary dairy = summaryRepository.findById(new ShopInventorySummaryId(shopId, "DAIRY_PRODUCTS")).orElseThrow();
+        assertThat(dairy.getEntryCount()).isEqualTo(2);
+        assertThat(dairy.getTotalAmount()).isEqualTo(3);
+        assertThat(dairy.getTotalValue()).isEqualByComparingTo("7.50");
+    }
+
+    @Test
+    @DisplayName("deleteByShopId should remove every category row of the shop")
+    void testDeleteByShopId() {
+        // Arrange
+        summaryRepository.addDelta(shopId, "DAIRY_PRODUCTS", 1, 5, new BigDecimal("12.50"));
+        summaryRepository.addDelta(shopId, "BEVERAGES", 1, 1, new BigDecimal("2.00"));
+
+        // Act
+        summaryRepository.deleteByShopId(shopId);
+
+        // Assert
+        assertThat(summaryRepository.findByIdShopId(shopId)).isEmpty();
+    }
+}
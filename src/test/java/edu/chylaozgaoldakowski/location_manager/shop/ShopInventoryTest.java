@@ -0,0 +1,133 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import edu.chylaozgaoldakowski.location_manager.entry.ShopStockView;
+import edu.chylaozgaoldakowski.location_manager.product.Category;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShopInventory Unit Tests")
+class ShopInventoryTest {
+
+    @Mock
+    private ShopInventorySummaryRepository summaryRepository;
+
+    @InjectMocks
+    private ShopInventory shopInventory;
+
+    @Test
+    @DisplayName("record should key products without a category as uncategorized")
+    void testRecordUncategorized() {
+        // Act
+        shopInventory.record(1L, null, 1, 4, new BigDecimal("8.00"));
+
+        // Assert
+        verify(summaryRepository).addDelta(1L, ShopInventory.UNCATEGORIZED, 1, 4, new BigDecimal("8.00"));
+    }
+
+    @Test
+    @DisplayName("record should skip empty deltas")
+    void testRecordEmptyDelta() {
+        // Act
+        shopInventory.record(1L, Category.BEVERAGES, 0, 0, BigDecimal.ZERO);
+
+        // Assert
+        verify(summaryRepository, never()).addDelta(any(), anyString(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("recordRecategorization should move stock between category rows")
+    void testRecordRecategorization() {
+        // Arrange
+        ShopStockView stock = stock(2L, 3, 7, "21.00");
+
+        // Act
+        shopInventory.recordRecategorization(List.of(stock), Category.BEVERAGES, Category.SNACKS_AND_CONFECTIONERY);
+
+        // Assert
+        verify(summaryRepository).addDelta(2L, "BEVERAGES", -3, -7, new BigDecimal("-21.00"));
+        verify(summaryRepository).addDelta(2L, "SNACKS_AND_CONFECTIONERY", 3, 7, new BigDecimal("21.00"));
+    }
+
+    @Test
+    @DisplayName("getInventory should total category rows and list non-empty categories in enum order")
+    void testGetInventory() {
+        // Arrange
+        when(summaryRepository.findByIdShopId(1L)).thenReturn(List.of(
+                row(1L, ShopInventory.UNCATEGORIZED, 1, 1, "1.00"),
+                row(1L, "DAIRY_PRODUCTS", 2, 5, "10.00"),
+                row(1L, "FRESH_PRODUCE", 0, 0, "0.00")));
+
+        // Act
+        ShopInventoryDto inventory = shopInventory.getInventory(1L);
+
+        // Assert
+        assertThat(inventory.getEntryCount()).isEqualTo(3);
+        assertThat(inventory.getTotalAmount()).isEqualTo(6);
+        assertThat(inventory.getTotalValue()).isEqualByComparingTo("11.00");
+        assertThat(inventory.getCategories()).extracting(CategoryInventoryDto::getCategory)
+                .containsExactly(Category.DAIRY_PRODUCTS, null);
+    }
+
+    @Test
+    @DisplayName("getTotals should group category rows per shop")
+    void testGetTotals() {
+        // Arrange
+        when(summaryRepository.findByIdShopIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                row(1L, "DAIRY_PRODUCTS", 2, 5, "10.00"),
+                row(1L, "BEVERAGES", 1, 1, "3.00"),
+                row(2L, "BEVERAGES", 4, 4, "12.00")));
+
+        // Act
+        Map<Long, ShopInventoryDto> totals = shopInventory.getTotals(List.of(1L, 2L));
+
+        // Assert
+        assertThat(totals.get(1L).getEntryCount()).isEqualTo(3);
+        assertThat(totals.get(1L).getTotalValue()).isEqualByComparingTo("13.00");
+        assertThat(totals.get(2L).getTotalAmount()).isEqualTo(4);
+    }
+
+    private static ShopInventorySummary row(Long shopId, String category, long entries, long amount, String value) {
+        return new ShopInventorySummary(new ShopInventorySummaryId(shopId, category), entries, amount, new BigDecimal(value));
+    }
+
+    private static ShopStockView stock(Long shopId, long entries, long amount, String value) {
+        return new ShopStockView() {
+            @Override
+            public Long getShopId() {
+                return shopId;
+            }
+
+            @Override
+            public long getEntryCount() {
+                return entries;
+            }
+
+            @Override
+            public long getTotalAmount() {
+                return amount;
+            }
+
+            @Override
+            public BigDecimal getTotalValue() {
+                return new BigDecimal(value);
+            }
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package edu.chylaozgaoldakowski.location_manager.shop;
 
 import edu.chylaozgaoldakowski.location_manager.entry.Entry;
+import edu.chylaozgaoldakowski.location_manager.entry.EntryExportView;
 import edu.chylaozgaoldakowski.location_manager.product.Category;
 import edu.chylaozgaoldakowski.location_manager.product.Product;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,8 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @DisplayName("ShopMapper Unit Tests")
 class ShopMapperTest {
@@ -329,4 +332,30 @@ class ShopMapperTest {
         assertThat(productData.getCategory()).isEqualTo("dairy_products");
         assertThat(productData.getCategory()).isEqualTo(productData.getCategory().toLowerCase());
     }
+
+    @Test
+    @DisplayName("toEntryData should map export view the same way as entity entries")
+    void testToEntryDataFromExportView() {
+        // Arrange
+        EntryExportView view = mock(EntryExportView.class);
+        when(view.getProductName()).thenReturn("Milk");
+        when(view.getProductManufacturer()).thenReturn("Dairy Co");
+        when(view.getProductCategory()).thenReturn(Category.DAIRY_PRODUCTS);
+        when(view.getProductCode()).thenReturn("MILK001");
+        when(view.getProductDescription()).thenReturn(null);
+        when(view.getAmount()).thenReturn(2);
+        when(view.getTotalPrice()).thenReturn(BigDecimal.valueOf(11.98));
+
+        // Act
+        ShopData.EntryData result = shopMapper.toEntryData(view);
+
+        // Assert
+        assertThat(result.getAmount()).isEqualTo(2);
+        assertThat(result.getTotalPrice()).isEqualByComparingTo(BigDecimal.valueOf(11.98));
+        assertThat(result.getProduct().getName()).isEqualTo("Milk");
+        assertThat(result.getProduct().getManufacturer()).isEqualTo("Dairy Co");
+        assertThat(result.getProduct().getCategory()).isEqualTo("dairy_products");
+        assertThat(result.getProduct().getProductCode()).isEqualTo("MILK001");
+        assertThat(result.getProduct().getDescription()).isEmpty();
+    }
 }
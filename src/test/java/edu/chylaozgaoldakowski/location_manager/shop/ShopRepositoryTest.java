@@ -0,0 +1,59 @@
+package edu.chylaozgaoldakowski.location_manager.shop;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("ShopRepository Keyset Pagination Tests")
+class ShopRepositoryTest {
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @BeforeEach
+    void setUp() {
+        shopRepository.save(new Shop(null, "Charlie", "3 Test St", "Test City", null));
+        shopRepository.save(new Shop(null, "Alpha", "1 Test St", "Test City", null));
+        shopRepository.save(new Shop(null, "Bravo", "2 Test St", "Test City", null));
+        shopRepository.save(new Shop(null, "Alpha", "4 Test St", "Test City", null));
+    }
+
+    @Test
+    @DisplayName("findBy should walk all shops by name without skipping duplicates")
+    void testKeysetByName() {
+        // Act
+        Window<Shop> first = shopRepository.findBy(ShopSort.NAME.positionAfter(null, null), ShopSort.NAME.toSort(), Limit.of(2));
+        Shop last = first.getContent().getLast();
+        Window<Shop> second = shopRepository.findBy(ShopSort.NAME.positionAfter(last.getId(), last.getName()),
+                ShopSort.NAME.toSort(), Limit.of(2));
+
+        // Assert
+        assertThat(first.getContent()).extracting(Shop::getAddress).containsExactly("1 Test St", "4 Test St");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(Shop::getName).containsExactly("Bravo", "Charlie");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("findBy should seek past the given id when sorting by id")
+    void testKeysetById() {
+        // Arrange
+        Long firstId = shopRepository.findBy(ShopSort.ID.positionAfter(null, null), ShopSort.ID.toSort(), Limit.of(1))
+                .getContent().getFirst().getId();
+
+        // Act
+        Window<Shop> rest = shopRepository.findBy(ShopSort.ID.positionAfter(firstId, null), ShopSort.ID.toSort(), Limit.of(10));
+
+        // Assert
+        assertThat(rest.getContent()).hasSize(3);
+        assertThat(rest.getContent()).allMatch(shop -> shop.getId() > firstId);
+        assertThat(rest.hasNext()).isFalse();
+    }
+}
@@ -1,21 +1,35 @@
 package edu.chylaozgaoldakowski.location_manager.shop;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.chylaozgaoldakowski.location_manager.entry.DeletionResult;
 import edu.chylaozgaoldakowski.location_manager.entry.Entry;
 import edu.chylaozgaoldakowski.location_manager.entry.EntryDto;
-import edu.chylaozgaoldakowski.location_manager.entry.EntryMapper;
+import edu.chylaozgaoldakowski.location_manager.entry.EntryExportView;
 import edu.chylaozgaoldakowski.location_manager.entry.EntryRepository;
 import edu.chylaozgaoldakowski.location_manager.product.Category;
 import edu.chylaozgaoldakowski.location_manager.product.Product;
+import edu.chylaozgaoldakowski.location_manager.user.PrincipalCache;
+import edu.chylaozgaoldakowski.location_manager.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,10 +45,19 @@ class ShopServiceTest {
     private ShopMapper shopMapper;
 
     @Mock
-    private EntryMapper entryMapper;
+    private EntryRepository entryRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     @Mock
-    private EntryRepository entryRepository;
+    private ShopInventory shopInventory;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PrincipalCache principalCache;
 
     @InjectMocks
     private ShopService shopService;
@@ -66,6 +89,47 @@ class ShopServiceTest {
         verify(shopMapper).toDto(testShop);
     }
 
+    @Test
+    void getPage_shouldReturnFirstPageWithCursorOfLastShop() {
+        // Given
+        Shop secondShop = new Shop(2L, "Second Shop", "1 Side St", "Lodz", List.of());
+        ShopDto secondShopDto = new ShopDto(2L, "Second Shop", "1 Side St", "Lodz");
+        Window<Shop> window = Window.from(List.of(testShop, secondShop), ScrollPosition::offset, true);
+        when(shopRepository.findBy(ScrollPosition.keyset(), Sort.by("name", "id"), Limit.of(2))).thenReturn(window);
+        when(shopMapper.toDto(testShop)).thenReturn(testShopDto);
+        when(shopMapper.toDto(secondShop)).thenReturn(secondShopDto);
+        ShopInventoryDto inventory = new ShopInventoryDto(3, 12, new BigDecimal("45.00"), List.of());
+        when(shopInventory.getTotals(List.of(1L, 2L))).thenReturn(Map.of(1L, inventory));
+
+        // When
+        ShopPage result = shopService.getPage(ShopSort.NAME, null, null, 2);
+
+        // Then
+        assertEquals(List.of(testShopDto, secondShopDto), result.getShops());
+        assertEquals(Map.of(1L, inventory), result.getInventory());
+        assertTrue(result.isHasNext());
+        assertEquals(2L, result.getNextAfterId());
+        assertEquals("Second Shop", result.getNextAfterName());
+    }
+
+    @Test
+    void getPage_shouldSeekAfterGivenKeyAndClampPageSize() {
+        // Given
+        Window<Shop> window = Window.from(List.of(testShop), ScrollPosition::offset, false);
+        when(shopRepository.findBy(ScrollPosition.forward(Map.of("id", 10L)), Sort.by("id"), Limit.of(ShopService.MAX_PAGE_SIZE)))
+                .thenReturn(window);
+        when(shopMapper.toDto(testShop)).thenReturn(testShopDto);
+
+        // When
+        ShopPage result = shopService.getPage(ShopSort.ID, 10L, null, 10_000);
+
+        // Then
+        assertEquals(1, result.getShops().size());
+        assertEquals(ShopService.MAX_PAGE_SIZE, result.getSize());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextAfterId());
+    }
+
     @Test
     void save_shouldSaveNewShop() {
         // Given
@@ -122,23 +186,68 @@ class ShopServiceTest {
 
     @Test
     void deleteById_shouldDeleteShop() {
+        // Given
+        when(entryRepository.countByShop_Id(1L)).thenReturn(3L);
+        when(shopRepository.deleteShopById(1L)).thenReturn(1);
+
+        // When
+        DeletionResult result = shopService.deleteById(1L);
+
+        // Then
+        assertTrue(result.isDeleted());
+        assertEquals(3, result.getEntriesToPurge());
+        verify(shopInventory).removeShop(1L);
+        verify(userRepository).unassignShop(1L);
+        verify(shopRepository, never()).findById(any());
+        verify(shopRepository, never()).deleteById(any());
+        verifyNoInteractions(principalCache);
+    }
+
+    @Test
+    void deleteById_shouldEvictCachedPrincipalsOfAssignedUsers() {
+        // Given
+        when(userRepository.findUsernamesByAssignedShopId(1L)).thenReturn(List.of("clerk1", "clerk2"));
+        when(shopRepository.deleteShopById(1L)).thenReturn(1);
+
         // When
         shopService.deleteById(1L);
 
         // Then
-        verify(shopRepository).deleteById(1L);
+        var inOrder = inOrder(userRepository, principalCache);
+        inOrder.verify(userRepository).unassignShop(1L);
+        inOrder.verify(principalCache).invalidateAll(List.of("clerk1", "clerk2"));
+    }
+
+    @Test
+    void deleteById_shouldReportMissingShop() {
+        // When
+        DeletionResult result = shopService.deleteById(99L);
+
+        // Then
+        assertFalse(result.isDeleted());
+        assertEquals(0, result.getEntriesToPurge());
+    }
+
+    @Test
+    void getInventory_shouldReadFromSummary() {
+        // Given
+        ShopInventoryDto inventory = new ShopInventoryDto(1, 2, new BigDecimal("11.98"), List.of());
+        when(shopInventory.getInventory(1L)).thenReturn(inventory);
+
+        // When
+        ShopInventoryDto result = shopService.getInventory(1L);
+
+        // Then
+        assertEquals(inventory, result);
+        verifyNoInteractions(entryRepository);
     }
 
     @Test
     void getEntriesById_shouldReturnListOfEntryDtos() {
         // Given
-        Product product = new Product(1L, "Milk", "Dairy Co", Category.DAIRY_PRODUCTS,
-                "MILK001", "Fresh milk", BigDecimal.valueOf(5.99), List.of());
-        Entry entry = new Entry(1L, testShop, product, 2, BigDecimal.valueOf(11.98));
-        EntryDto entryDto = new EntryDto(1L, 1L, 1L, "Milk", 2, BigDecimal.valueOf(11.98));
+        EntryDto entryDto = new EntryDto(1L, 1L, 1L, "Milk", 2, BigDecimal.valueOf(11.98), 0L);
 
-        when(entryRepository.findByShop_Id(1L)).thenReturn(List.of(entry));
-        when(entryMapper.toDto(entry)).thenReturn(entryDto);
+        when(entryRepository.findDtosByShopId(1L)).thenReturn(List.of(entryDto));
 
         // When
         List<EntryDto> result = shopService.getEntriesById(1L);
@@ -147,8 +256,8 @@ class ShopServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(entryDto, result.getFirst());
-        verify(entryRepository).findByShop_Id(1L);
-        verify(entryMapper).toDto(entry);
+        verify(entryRepository).findDtosByShopId(1L);
+        verify(entryRepository, never()).findByShop_Id(any());
     }
 
     @Test
@@ -180,7 +289,7 @@ class ShopServiceTest {
                 .build();
 
         when(shopRepository.findById(1L)).thenReturn(Optional.of(testShop));
-        when(entryRepository.findByShop_Id(1L)).thenReturn(List.of(entry));
+        when(entryRepository.findWithProductByShopId(1L)).thenReturn(List.of(entry));
         when(shopMapper.toShopData(testShop, List.of(entry))).thenReturn(shopData);
 
         // When
@@ -190,7 +299,7 @@ class ShopServiceTest {
         assertNotNull(result);
         assertEquals(shopData, result);
         verify(shopRepository).findById(1L);
-        verify(entryRepository).findByShop_Id(1L);
+        verify(entryRepository).findWithProductByShopId(1L);
         verify(shopMapper).toShopData(testShop, List.of(entry));
     }
 
@@ -203,4 +312,57 @@ class ShopServiceTest {
         assertThrows(Exception.class, () -> shopService.getShopDataById(999L));
         verify(shopRepository).findById(999L);
     }
+
+    @Test
+    void writeShopData_shouldStreamSameJsonAsShopData() throws IOException {
+        // Given
+        EntryExportView first = mock(EntryExportView.class);
+        EntryExportView second = mock(EntryExportView.class);
+        ShopData.EntryData firstData = ShopData.EntryData.builder()
+                .product(ShopData.ProductData.builder().name("Milk").manufacturer("Dairy Co")
+                        .category("dairy_products").productCode("MILK001").description("Fresh milk").build())
+                .amount(2)
+                .totalPrice(new BigDecimal("11.98"))
+                .build();
+        ShopData.EntryData secondData = ShopData.EntryData.builder()
+                .product(ShopData.ProductData.builder().name("Bread").manufacturer("Bakery")
+                        .category("bakery_products").productCode("BREAD01").description("").build())
+                .amount(1)
+                .totalPrice(new BigDecimal("3.50"))
+                .build();
+        ShopData expected = ShopData.builder()
+                .name("Test Shop")
+                .address("123 Main St")
+                .city("Warsaw")
+                .entries(List.of(firstData, secondData))
+                .build();
+
+        when(entryRepository.streamExportViewsByShopId(1L)).thenReturn(Stream.of(first, second));
+        when(shopMapper.toEntryData(first)).thenReturn(firstData);
+        when(shopMapper.toEntryData(second)).thenReturn(secondData);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        shopService.writeShopData(testShopDto, outputStream);
+
+        // Then
+        assertEquals(objectMapper.writeValueAsString(expected), outputStream.toString(StandardCharsets.UTF_8));
+        verify(entryRepository).streamExportViewsByShopId(1L);
+        verify(entryRepository, never()).findWithProductByShopId(any());
+        verify(shopRepository, never()).findById(any());
+    }
+
+    @Test
+    void writeShopData_shouldWriteEmptyEntriesArray() throws IOException {
+        // Given
+        when(entryRepository.streamExportViewsByShopId(1L)).thenReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        shopService.writeShopData(testShopDto, outputStream);
+
+        // Then
+        assertEquals("{\"name\":\"Test Shop\",\"address\":\"123 Main St\",\"city\":\"Warsaw\",\"entries\":[]}",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
 }
@@ -9,10 +9,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Duration;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -31,6 +33,12 @@ class CustomUserDetailsServiceTest {
     @Mock
     private ShopRepository shopRepository;
 
+    @Mock
+    private UsernameBloomFilter usernameBloomFilter;
+
+    @Spy
+    private PrincipalCache principalCache = new PrincipalCache(Duration.ofMinutes(5), 100);
+
     @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
 
@@ -63,7 +71,7 @@ class CustomUserDetailsServiceTest {
     @DisplayName("loadUserByUsername should return UserDetails when user exists")
     void testLoadUserByUsernameSuccess() {
         // Arrange
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(UserCredentials.from(testUser)));
 
         // Act
         UserDetails result = customUserDetailsService.loadUserByUsername("testuser");
@@ -73,20 +81,20 @@ class CustomUserDetailsServiceTest {
         assertThat(result).isInstanceOf(CustomUserDetails.class);
         assertThat(result.getUsername()).isEqualTo("testuser");
         assertThat(result.getPassword()).isEqualTo("password123");
-        verify(userRepository).findByUsername("testuser");
+        verify(userRepository).findCredentialsByUsername("testuser");
     }
 
     @Test
     @DisplayName("loadUserByUsername should throw UsernameNotFoundException when user does not exist")
     void testLoadUserByUsernameNotFound() {
         // Arrange
-        when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
+        when(userRepository.findCredentialsByUsername("nonexistent")).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> customUserDetailsService.loadUserByUsername("nonexistent"))
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessageContaining("User not found: nonexistent");
-        verify(userRepository).findByUsername("nonexistent");
+        verify(userRepository).findCredentialsByUsername("nonexistent");
     }
 
     @Test
@@ -99,7 +107,7 @@ class CustomUserDetailsServiceTest {
         adminUser.setPassword("adminpass");
         adminUser.setRole("ADMIN");
 
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(userRepository.findCredentialsByUsername("admin")).thenReturn(Optional.of(UserCredentials.from(adminUser)));
 
         // Act
         UserDetails result = customUserDetailsService.loadUserByUsername("admin");
@@ -107,7 +115,7 @@ class CustomUserDetailsServiceTest {
         // Assert
         assertThat(result.getUsername()).isEqualTo("admin");
         assertThat(result.getPassword()).isEqualTo("adminpass");
-        verify(userRepository).findByUsername("admin");
+        verify(userRepository).findCredentialsByUsername("admin");
     }
 
     @Test
@@ -210,7 +218,7 @@ class CustomUserDetailsServiceTest {
         userWithoutShop.setRole("USER");
         userWithoutShop.setAssignedShop(null);
 
-        when(userRepository.findByUsername("noshopuser")).thenReturn(Optional.of(userWithoutShop));
+        when(userRepository.findCredentialsByUsername("noshopuser")).thenReturn(Optional.of(UserCredentials.from(userWithoutShop)));
 
         // Act
         UserDetails result = customUserDetailsService.loadUserByUsername("noshopuser");
@@ -218,6 +226,52 @@ class CustomUserDetailsServiceTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getUsername()).isEqualTo("noshopuser");
-        verify(userRepository).findByUsername("noshopuser");
+        verify(userRepository).findCredentialsByUsername("noshopuser");
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername should serve repeated logins from the principal cache")
+    void testLoadUserByUsernameCached() {
+        // Arrange
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(Optional.of(UserCredentials.from(testUser)));
+
+        // Act
+        UserDetails first = customUserDetailsService.loadUserByUsername("testuser");
+        UserDetails second = customUserDetailsService.loadUserByUsername("testuser");
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findCredentialsByUsername("testuser");
+        assertThat(principalCache.stats().hitCount()).isEqualTo(1);
+        assertThat(principalCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername should not cache unknown usernames")
+    void testLoadUserByUsernameNotFoundNotCached() {
+        // Arrange
+        when(userRepository.findCredentialsByUsername("nonexistent")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> customUserDetailsService.loadUserByUsername("nonexistent"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> customUserDetailsService.loadUserByUsername("nonexistent"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findCredentialsByUsername("nonexistent");
+    }
+
+    @Test
+    @DisplayName("register should invalidate the cached principal for the username")
+    void testRegisterInvalidatesPrincipalCache() {
+        // Arrange
+        when(shopRepository.findById(1L)).thenReturn(Optional.of(testShop));
+        when(userRepository.save(any(AppUser.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        customUserDetailsService.register(testUserDto);
+
+        // Assert
+        verify(principalCache).invalidate("newuser");
+        verify(usernameBloomFilter).put("newuser");
     }
 }
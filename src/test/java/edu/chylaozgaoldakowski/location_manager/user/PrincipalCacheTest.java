@@ -0,0 +1,51 @@
+package edu.chylaozgaoldakowski.location_manager.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PrincipalCache Unit Tests")
+class PrincipalCacheTest {
+
+    @Test
+    @DisplayName("should expose hit and miss counters to the meter registry")
+    void testHitMissMetrics() {
+        // Arrange
+        PrincipalCache principalCache = new PrincipalCache(Duration.ofMinutes(5), 100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        principalCache.bindTo(registry);
+        CustomUserDetails principal = new CustomUserDetails(new AppUser());
+
+        // Act
+        principalCache.get("testuser", username -> principal);
+        principalCache.get("testuser", username -> principal);
+        principalCache.get("testuser", username -> principal);
+
+        // Assert
+        assertThat(registry.get("cache.gets").tag("cache", "principals").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.gets").tag("cache", "principals").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("invalidate should force the next lookup to reload")
+    void testInvalidate() {
+        // Arrange
+        PrincipalCache principalCache = new PrincipalCache(Duration.ofMinutes(5), 100);
+        CustomUserDetails first = new CustomUserDetails(new AppUser());
+        CustomUserDetails second = new CustomUserDetails(new AppUser());
+        principalCache.get("testuser", username -> first);
+
+        // Act
+        principalCache.invalidate("testuser");
+        CustomUserDetails result = principalCache.get("testuser", username -> second);
+
+        // Assert
+        assertThat(result).isSameAs(second);
+    }
+}
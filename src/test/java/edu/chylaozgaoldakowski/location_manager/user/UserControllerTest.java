@@ -0,0 +1,86 @@
+package edu.chylaozgaoldakowski.location_manager.user;
+
+import edu.chylaozgaoldakowski.location_manager.config.SecurityConfig;
+import edu.chylaozgaoldakowski.location_manager.shop.IShopService;
+import edu.chylaozgaoldakowski.location_manager.shop.ShopDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserController.class)
+@Import(SecurityConfig.class)
+@DisplayName("UserController Integration Tests")
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CustomUserDetailsService userService;
+
+    @MockBean(name = "ShopService")
+    private IShopService shopService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private UsernameBloomFilter usernameBloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        when(shopService.getAll()).thenReturn(List.of(new ShopDto(1L, "Test Shop", "123 Test St", "Test City")));
+    }
+
+    @Test
+    @DisplayName("POST /register - should redirect to login after registering")
+    void testRegisterUser() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/register")
+                        .with(csrf())
+                        .param("username", "newuser")
+                        .param("password", "secret123")
+                        .param("assignedShopId", "1"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/login?registered"));
+
+        verify(userService).register(any(AppUserDto.class));
+    }
+
+    @Test
+    @DisplayName("POST /register - should return form with error when the username is taken but the filter missed it")
+    void testRegisterUserDuplicateUsername() throws Exception {
+        // Arrange
+        when(usernameBloomFilter.mightContain("newuser")).thenReturn(false);
+        doThrow(new DataIntegrityViolationException("app_user_username_key"))
+                .when(userService).register(any(AppUserDto.class));
+
+        // Act & Assert
+        mockMvc.perform(post("/register")
+                        .with(csrf())
+                        .param("username", "newuser")
+                        .param("password", "secret123")
+                        .param("assignedShopId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("auth/register"))
+                .andExpect(model().attributeExists("shops"))
+                .andExpect(model().attributeHasFieldErrorCode("user", "username", "duplicate"))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Username already exists")));
+
+        verify(userRepository, never()).existsByUsername(any());
+    }
+}
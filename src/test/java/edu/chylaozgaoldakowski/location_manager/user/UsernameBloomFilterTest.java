@@ -0,0 +1,99 @@
+package edu.chylaozgaoldakowski.location_manager.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UsernameBloomFilter Unit Tests")
+class UsernameBloomFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("should report every username as possible before startup load")
+    void testNotReadyFallsThrough() {
+        // Arrange
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, 100, 0.01);
+
+        // Act & Assert
+        assertThat(filter.isReady()).isFalse();
+        assertThat(filter.mightContain("anyone")).isTrue();
+    }
+
+    @Test
+    @DisplayName("should never report a loaded or registered username as a definite miss")
+    void testNoFalseNegatives() {
+        // Arrange
+        List<String> usernames = IntStream.range(0, 1000).mapToObj(i -> "user" + i).toList();
+        when(userRepository.findAllUsernames()).thenReturn(usernames);
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, 1000, 0.01);
+
+        // Act
+        filter.load();
+        filter.put("registered");
+
+        // Assert
+        assertThat(usernames).allMatch(filter::mightContain);
+        assertThat(filter.mightContain("registered")).isTrue();
+    }
+
+    @Test
+    @DisplayName("should keep observed false positive rate close to the configured one")
+    void testFalsePositiveRate() {
+        // Arrange
+        when(userRepository.findAllUsernames())
+                .thenReturn(IntStream.range(0, 1000).mapToObj(i -> "user" + i).toList());
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, 1000, 0.01);
+        filter.load();
+
+        // Act
+        long falsePositives = IntStream.range(0, 10_000).mapToObj(i -> "other" + i).filter(filter::mightContain).count();
+
+        // Assert
+        assertThat(falsePositives).isLessThan(300);
+        assertThat(filter.expectedFalsePositiveProbability()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    @DisplayName("should expose configured and expected false positive rate and check counters")
+    void testMetrics() {
+        // Arrange
+        when(userRepository.findAllUsernames()).thenReturn(List.of("existing"));
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, 1000, 0.02);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+        filter.load();
+
+        // Act
+        filter.mightContain("existing");
+        filter.mightContain("missing");
+        filter.recordFalsePositive();
+
+        // Assert
+        assertThat(registry.get("username.filter.fpp.configured").gauge().value()).isEqualTo(0.02);
+        assertThat(registry.get("username.filter.fpp.expected").gauge().value()).isPositive();
+        assertThat(registry.get("username.filter.insertions").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("username.filter.checks").tag("result", "possible_hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("username.filter.checks").tag("result", "definite_miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("username.filter.false.positives").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should reject false positive rates outside (0, 1)")
+    void testInvalidFalsePositiveRate() {
+        assertThatThrownBy(() -> new UsernameBloomFilter(userRepository, 1000, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,6 +1,7 @@
 package edu.chylaozgaoldakowski.location_manager.validation;
 
 import edu.chylaozgaoldakowski.location_manager.user.UserRepository;
+import edu.chylaozgaoldakowski.location_manager.user.UsernameBloomFilter;
 import jakarta.validation.ConstraintValidatorContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +10,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -26,7 +29,7 @@ class UniqueUsernameValidatorTest {
 
     @BeforeEach
     void setUp() {
-        validator = new UniqueUsernameValidator(userRepository);
+        validator = new UniqueUsernameValidator(userRepository, new UsernameBloomFilter(userRepository, 1000, 0.01));
     }
 
     @Test
@@ -154,4 +157,42 @@ class UniqueUsernameValidatorTest {
         assertThat(result).isTrue();
         verify(userRepository).existsByUsername(" username ");
     }
+
+    @Test
+    @DisplayName("isValid should skip the database for usernames the loaded filter has never seen")
+    void testIsValidDefiniteMissSkipsDatabase() {
+        // Arrange
+        UsernameBloomFilter filter = loadedFilter("existinguser");
+        validator = new UniqueUsernameValidator(userRepository, filter);
+
+        // Act
+        boolean result = validator.isValid("brandnewuser", constraintValidatorContext);
+
+        // Assert
+        assertThat(result).isTrue();
+        verify(userRepository, never()).existsByUsername(any());
+    }
+
+    @Test
+    @DisplayName("isValid should confirm possible hits against the database")
+    void testIsValidPossibleHitChecksDatabase() {
+        // Arrange
+        UsernameBloomFilter filter = loadedFilter("existinguser");
+        validator = new UniqueUsernameValidator(userRepository, filter);
+        when(userRepository.existsByUsername("existinguser")).thenReturn(true);
+
+        // Act
+        boolean result = validator.isValid("existinguser", constraintValidatorContext);
+
+        // Assert
+        assertThat(result).isFalse();
+        verify(userRepository).existsByUsername("existinguser");
+    }
+
+    private UsernameBloomFilter loadedFilter(String... usernames) {
+        when(userRepository.findAllUsernames()).thenReturn(List.of(usernames));
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, 1000, 0.01);
+        filter.load();
+        return filter;
+    }
 }